@@ -0,0 +1,335 @@
+package com.yu.admin.common.bloom;
+
+import io.netty.buffer.ByteBuf;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBitSetAsync;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RMap;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.misc.Hash;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.yu.admin.common.constant.RedisCacheConstant.BLOOM_FILTER_CONTROL_TOPIC;
+
+/**
+ * 可扩容、可在线重建的布隆过滤器
+ * 由多个切片组成，新元素只写入最新切片，切片插入数达到容量时追加一个容量翻倍、误判率减半的新切片，总误判率始终不超过目标值；
+ * 切片按代（generation）组织，重建时新一代与当前代双写，新一代灌入完成后原子切换代号，旧一代延迟过期；
+ * 元数据保存在 Redis Hash 中，变更后通过控制 Topic 通知所有节点重新加载
+ */
+@Slf4j
+public class ScalableBloomFilter {
+
+    /**
+     * Redisson 单个布隆过滤器位数组上限
+     */
+    private static final long MAX_SLICE_BITS = Integer.MAX_VALUE * 2L;
+
+    /**
+     * 切换代号后旧一代切片保留时间，等待所有节点完成切换
+     */
+    private static final long RETIRED_GENERATION_TTL_MINUTES = 10L;
+
+    private final RedissonClient redissonClient;
+
+    private final String name;
+
+    private final long initialCapacity;
+
+    private final double falseProbability;
+
+    /**
+     * 过滤器尚未初始化（首次部署，等待重建）时判断元素是否存在的返回值
+     */
+    private final boolean containsWhenUninitialized;
+
+    private final RMap<String, String> meta;
+
+    private final RTopic controlTopic;
+
+    private volatile Long generation;
+
+    private volatile List<Slice> slices = List.of();
+
+    private volatile Long rebuildingGeneration;
+
+    private volatile List<Slice> rebuildingSlices;
+
+    /**
+     * 扩容线程：计数回调运行在 Redisson 的 Netty 线程上，不允许调用同步方法，扩容交给独立线程执行
+     */
+    private final ExecutorService growExecutor;
+
+    public ScalableBloomFilter(RedissonClient redissonClient, String name, long initialCapacity, double falseProbability,
+                               boolean containsWhenUninitialized) {
+        this.redissonClient = redissonClient;
+        this.name = name;
+        this.initialCapacity = initialCapacity;
+        this.falseProbability = falseProbability;
+        this.containsWhenUninitialized = containsWhenUninitialized;
+        this.meta = redissonClient.getMap(name + ":meta", StringCodec.INSTANCE);
+        this.controlTopic = redissonClient.getTopic(String.format(BLOOM_FILTER_CONTROL_TOPIC, name), StringCodec.INSTANCE);
+        this.growExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-grow");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        controlTopic.addListener(String.class, (channel, message) -> reload());
+        reload();
+    }
+
+    /**
+     * 停止扩容线程，由 Spring 按推断的销毁方法调用
+     */
+    public void shutdown() {
+        growExecutor.shutdown();
+    }
+
+    /**
+     * 是否已完成首次构建
+     */
+    public boolean isInitialized() {
+        return generation != null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 判断元素是否存在，任一切片命中即存在
+     */
+    public boolean contains(String element) {
+        List<Slice> current = slices;
+        if (current.isEmpty()) {
+            return containsWhenUninitialized;
+        }
+        for (int i = current.size() - 1; i >= 0; i--) {
+            if (current.get(i).filter.contains(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 新增元素，重建期间同时写入新一代
+     */
+    public void add(String element) {
+        addTo(generation, slices, List.of(element));
+        addTo(rebuildingGeneration, rebuildingSlices, List.of(element));
+    }
+
+    /**
+     * 开始重建：创建新一代首个切片并开启双写
+     *
+     * @param expectedInsertions 预计元素数量
+     */
+    public synchronized void beginRebuild(long expectedInsertions) {
+        long nextGeneration = Long.parseLong(meta.getOrDefault("generation", "0")) + 1;
+        long capacity = Math.max(initialCapacity, expectedInsertions * 2);
+        initSlice(nextGeneration, 0, capacity);
+        meta.put("capacity:" + nextGeneration, String.valueOf(capacity));
+        meta.put("slices:" + nextGeneration, "1");
+        meta.put("rebuilding", String.valueOf(nextGeneration));
+        publishReload();
+        log.info("布隆过滤器开始重建，过滤器：{}，新一代：{}，初始容量：{}", name, nextGeneration, capacity);
+    }
+
+    /**
+     * 重建灌入数据，只写新一代
+     */
+    public void addAllToRebuilding(Collection<String> elements) {
+        if (!elements.isEmpty()) {
+            addTo(rebuildingGeneration, rebuildingSlices, elements);
+        }
+    }
+
+    /**
+     * 完成重建：原子切换到新一代，旧一代延迟过期
+     */
+    public synchronized void finishRebuild() {
+        String retired = meta.get("generation");
+        String rebuilt = meta.get("rebuilding");
+        meta.put("generation", rebuilt);
+        meta.remove("rebuilding");
+        publishReload();
+        if (retired != null) {
+            retireGeneration(Long.parseLong(retired));
+        }
+        log.info("布隆过滤器重建完成，过滤器：{}，当前代：{}", name, rebuilt);
+    }
+
+    /**
+     * 放弃重建，删除未完成的新一代
+     */
+    public synchronized void abortRebuild() {
+        String rebuilding = meta.remove("rebuilding");
+        publishReload();
+        if (rebuilding != null) {
+            retireGeneration(Long.parseLong(rebuilding));
+        }
+    }
+
+    /**
+     * 从 Redis 重新加载切片元数据
+     */
+    public synchronized void reload() {
+        Map<String, String> snapshot = meta.readAllMap();
+        generation = parseLong(snapshot.get("generation"));
+        rebuildingGeneration = parseLong(snapshot.get("rebuilding"));
+        slices = loadGeneration(generation, snapshot);
+        rebuildingSlices = rebuildingGeneration == null ? null : loadGeneration(rebuildingGeneration, snapshot);
+    }
+
+    private List<Slice> loadGeneration(Long gen, Map<String, String> snapshot) {
+        if (gen == null) {
+            return List.of();
+        }
+        int sliceCount = Integer.parseInt(snapshot.getOrDefault("slices:" + gen, "1"));
+        long capacity = Long.parseLong(snapshot.getOrDefault("capacity:" + gen, String.valueOf(initialCapacity)));
+        List<Slice> result = new ArrayList<>(sliceCount);
+        for (int i = 0; i < sliceCount; i++) {
+            long sliceCapacity = sliceCapacity(capacity, i);
+            initSlice(gen, i, sliceCapacity);
+            RBloomFilter<String> filter = redissonClient.getBloomFilter(sliceName(gen, i));
+            result.add(new Slice(filter, redissonClient.getAtomicLong(sliceName(gen, i) + ":count"), sliceCapacity,
+                    filter.getSize(), filter.getHashIterations()));
+        }
+        return result;
+    }
+
+    private void addTo(Long gen, List<Slice> target, Collection<String> elements) {
+        if (gen == null || target == null || target.isEmpty()) {
+            return;
+        }
+        Slice last = target.get(target.size() - 1);
+        if (elements.size() == 1) {
+            last.filter.add(elements.iterator().next());
+        } else {
+            addAll(last, elements);
+        }
+        last.count.addAndGetAsync(elements.size()).thenAcceptAsync(count -> {
+            if (count >= last.capacity && count - elements.size() < last.capacity) {
+                grow(gen, target.size());
+            }
+        }, growExecutor).exceptionally(ex -> {
+            log.error("布隆过滤器切片扩容失败，过滤器：{}，代：{}，切片数：{}", name, gen, target.size(), ex);
+            return null;
+        });
+    }
+
+    /**
+     * 批量新增元素：本地计算位下标，所有 SETBIT 合并为一次管道请求
+     */
+    private void addAll(Slice slice, Collection<String> elements) {
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults().skipResult());
+        RBitSetAsync bitSet = batch.getBitSet(slice.filter.getName());
+        for (String element : elements) {
+            for (long index : indexes(slice, element)) {
+                bitSet.setAsync(index);
+            }
+        }
+        batch.execute();
+    }
+
+    /**
+     * 与 Redisson 布隆过滤器一致的位下标计算：编码后取 HighwayHash 128 位结果做双重哈希
+     */
+    private long[] indexes(Slice slice, String element) {
+        long[] hashes;
+        ByteBuf state;
+        try {
+            state = slice.filter.getCodec().getValueEncoder().encode(element);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        try {
+            hashes = Hash.hash128(state);
+        } finally {
+            state.release();
+        }
+        long[] indexes = new long[slice.hashIterations];
+        long hash = hashes[0];
+        for (int i = 0; i < slice.hashIterations; i++) {
+            indexes[i] = (hash & Long.MAX_VALUE) % slice.size;
+            hash += i % 2 == 0 ? hashes[1] : hashes[0];
+        }
+        return indexes;
+    }
+
+    /**
+     * 追加新切片，多个节点并发扩容时只有比较并替换成功的节点生效
+     */
+    private void grow(long gen, int currentSliceCount) {
+        long capacity = Long.parseLong(meta.getOrDefault("capacity:" + gen, String.valueOf(initialCapacity)));
+        initSlice(gen, currentSliceCount, sliceCapacity(capacity, currentSliceCount));
+        if (meta.replace("slices:" + gen, String.valueOf(currentSliceCount), String.valueOf(currentSliceCount + 1))) {
+            log.info("布隆过滤器切片已满，追加新切片，过滤器：{}，代：{}，切片数：{}", name, gen, currentSliceCount + 1);
+            publishReload();
+        }
+    }
+
+    private void initSlice(long gen, int index, long capacity) {
+        RBloomFilter<String> bloomFilter = redissonClient.getBloomFilter(sliceName(gen, index));
+        bloomFilter.tryInit(capacity, sliceFalseProbability(index));
+    }
+
+    private void retireGeneration(long gen) {
+        int sliceCount = Integer.parseInt(meta.getOrDefault("slices:" + gen, "1"));
+        for (int i = 0; i < sliceCount; i++) {
+            redissonClient.getBloomFilter(sliceName(gen, i)).expire(RETIRED_GENERATION_TTL_MINUTES, TimeUnit.MINUTES);
+            redissonClient.getAtomicLong(sliceName(gen, i) + ":count").expire(RETIRED_GENERATION_TTL_MINUTES, TimeUnit.MINUTES);
+        }
+        meta.fastRemove("slices:" + gen, "capacity:" + gen);
+    }
+
+    /**
+     * 第 i 个切片容量为首个切片的 2^i 倍，受 Redisson 位数组上限约束
+     */
+    private long sliceCapacity(long capacity, int index) {
+        long scaled = capacity << Math.min(index, 20);
+        double p = sliceFalseProbability(index);
+        long maxInsertions = (long) (MAX_SLICE_BITS * Math.log(2) * Math.log(2) / -Math.log(p));
+        return Math.min(scaled, maxInsertions);
+    }
+
+    /**
+     * 第 i 个切片误判率为 p / 2^(i+1)，所有切片误判率之和不超过 p
+     */
+    private double sliceFalseProbability(int index) {
+        return falseProbability / (1L << Math.min(index + 1, 30));
+    }
+
+    private String sliceName(long gen, int index) {
+        return name + ":g" + gen + ":s" + index;
+    }
+
+    private void publishReload() {
+        reload();
+        controlTopic.publish("reload");
+    }
+
+    private static Long parseLong(String value) {
+        return value == null ? null : Long.parseLong(value);
+    }
+
+    private record Slice(RBloomFilter<String> filter, RAtomicLong count, long capacity, long size, int hashIterations) {
+    }
+}
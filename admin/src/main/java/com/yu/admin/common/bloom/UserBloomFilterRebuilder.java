@@ -0,0 +1,106 @@
+package com.yu.admin.common.bloom;
+
+import com.yu.admin.config.BloomFilterRebuildConfiguration;
+import com.yu.admin.dao.entity.UserDO;
+import com.yu.admin.dao.mapper.UserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static com.yu.admin.common.constant.RedisCacheConstant.LOCK_BLOOM_FILTER_REBUILD_KEY;
+
+/**
+ * 用户名布隆过滤器在线重建
+ * 按物理分表并行游标扫描 t_user_0..N 灌入新一代过滤器，期间线上注册双写，完成后原子切换
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserBloomFilterRebuilder {
+
+    private final ScalableBloomFilter userRegisterCachePenetrationBloomFilter;
+
+    private final UserMapper userMapper;
+
+    private final RedissonClient redissonClient;
+
+    private final BloomFilterRebuildConfiguration rebuildConfiguration;
+
+    /**
+     * 首次部署过滤器尚未构建时自动重建，集群内只有获得锁的节点执行
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfUninitialized() {
+        if (!userRegisterCachePenetrationBloomFilter.isInitialized()) {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * 异步重建
+     */
+    public void rebuildAsync() {
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception ex) {
+                log.error("用户名布隆过滤器重建失败", ex);
+            }
+        }, "short-link-admin_bloom-filter-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 重建用户名布隆过滤器
+     */
+    public void rebuild() {
+        RLock lock = redissonClient.getLock(String.format(LOCK_BLOOM_FILTER_REBUILD_KEY, userRegisterCachePenetrationBloomFilter.getName()));
+        if (!lock.tryLock()) {
+            log.info("用户名布隆过滤器正在由其它节点重建，跳过");
+            return;
+        }
+        int shardCount = rebuildConfiguration.getShardCount();
+        ExecutorService executor = Executors.newFixedThreadPool(shardCount);
+        try {
+            long start = System.currentTimeMillis();
+            userRegisterCachePenetrationBloomFilter.beginRebuild(userMapper.selectCount(null));
+            List<CompletableFuture<Long>> futures = IntStream.range(0, shardCount)
+                    .mapToObj(each -> CompletableFuture.supplyAsync(() -> scanShard(each), executor))
+                    .toList();
+            long total = futures.stream().mapToLong(CompletableFuture::join).sum();
+            userRegisterCachePenetrationBloomFilter.finishRebuild();
+            log.info("用户名布隆过滤器重建完成，共 {} 条，耗时：{} ms", total, System.currentTimeMillis() - start);
+        } catch (Exception ex) {
+            userRegisterCachePenetrationBloomFilter.abortRebuild();
+            throw ex;
+        } finally {
+            executor.shutdown();
+            lock.unlock();
+        }
+    }
+
+    private long scanShard(int shardIndex) {
+        long lastId = 0L;
+        long total = 0L;
+        while (true) {
+            List<UserDO> rows = userMapper.listUsernameByShard(shardIndex, lastId, rebuildConfiguration.getBatchSize());
+            if (rows.isEmpty()) {
+                return total;
+            }
+            userRegisterCachePenetrationBloomFilter.addAllToRebuilding(rows.stream().map(UserDO::getUsername).toList());
+            total += rows.size();
+            lastId = rows.get(rows.size() - 1).getId();
+        }
+    }
+}
@@ -14,4 +14,14 @@ public class RedisCacheConstant {
      * 分组创建分布式锁
      */
     public static final String LOCK_GROUP_CREATE_KEY = "short-link:lock_group-create:%s";
+
+    /**
+     * 布隆过滤器元数据变更广播 Topic
+     */
+    public static final String BLOOM_FILTER_CONTROL_TOPIC = "short-link:bloom-filter_control-topic:%s";
+
+    /**
+     * 布隆过滤器重建分布式锁
+     */
+    public static final String LOCK_BLOOM_FILTER_REBUILD_KEY = "short-link:lock_bloom-filter-rebuild:%s";
 }
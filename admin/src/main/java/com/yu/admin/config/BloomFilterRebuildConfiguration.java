@@ -0,0 +1,24 @@
+package com.yu.admin.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 布隆过滤器重建配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.bloom-filter.rebuild")
+public class BloomFilterRebuildConfiguration {
+
+    /**
+     * t_user 物理分表数量，需与 ShardingSphere 分片配置保持一致
+     */
+    private Integer shardCount = 2;
+
+    /**
+     * 单次扫描行数
+     */
+    private Integer batchSize = 1000;
+}
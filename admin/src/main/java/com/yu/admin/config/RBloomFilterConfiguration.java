@@ -1,6 +1,6 @@
 package com.yu.admin.config;
 
-import org.redisson.api.RBloomFilter;
+import com.yu.admin.common.bloom.ScalableBloomFilter;
 import org.redisson.api.RedissonClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,11 +13,10 @@ public class RBloomFilterConfiguration {
 
 	/**
 	 * 防止用户注册查询数据库的布隆过滤器
+	 * 首次部署未构建完成前按“不存在”处理，由用户名唯一索引兜底
 	 */
-	@Bean
-	public RBloomFilter<String> userRegisterCachePenetrationBloomFilter(RedissonClient redissonClient) {
-		RBloomFilter<String> cachePenetrationBloomFilter = redissonClient.getBloomFilter("userRegisterCachePenetrationBloomFilter");
-		cachePenetrationBloomFilter.tryInit(100000000L, 0.001);
-		return cachePenetrationBloomFilter;
+	@Bean(initMethod = "start")
+	public ScalableBloomFilter userRegisterCachePenetrationBloomFilter(RedissonClient redissonClient) {
+		return new ScalableBloomFilter(redissonClient, "userRegisterCachePenetrationBloomFilter", 100000000L, 0.001, false);
 	}
-}
\ No newline at end of file
+}
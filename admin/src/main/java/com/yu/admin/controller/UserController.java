@@ -1,6 +1,7 @@
 package com.yu.admin.controller;
 
 import cn.hutool.core.bean.BeanUtil;
+import com.yu.admin.common.bloom.UserBloomFilterRebuilder;
 import com.yu.admin.common.convention.result.Result;
 import com.yu.admin.common.convention.result.Results;
 import com.yu.admin.dto.req.UserLoginReqDTO;
@@ -24,6 +25,8 @@ public class UserController {
 
 	private final UserService userService;
 
+	private final UserBloomFilterRebuilder userBloomFilterRebuilder;
+
 
 	/**
 	 * 根据用户名查询用户信息
@@ -92,4 +95,12 @@ public class UserController {
 		return Results.success();
 	}
 
+	/**
+	 * 在线重建用户名布隆过滤器
+	 */
+	@PostMapping("/api/short-link/admin/v1/user/bloom-filter/rebuild")
+	public Result<Void> rebuildBloomFilter() {
+		userBloomFilterRebuilder.rebuildAsync();
+		return Results.success();
+	}
 }
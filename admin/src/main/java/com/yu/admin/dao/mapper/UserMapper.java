@@ -2,6 +2,10 @@ package com.yu.admin.dao.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.yu.admin.dao.entity.UserDO;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * @author yu
@@ -9,4 +13,15 @@ import com.yu.admin.dao.entity.UserDO;
  * @date 2024-02-01
  */
 public interface UserMapper extends BaseMapper<UserDO> {
+
+	/**
+	 * 按物理分表游标扫描用户名
+	 *
+	 * @param shardIndex 分表下标
+	 * @param lastId     上一批最大 ID
+	 * @param limit      扫描行数
+	 * @return 用户 ID 与用户名
+	 */
+	@Select("SELECT id, username FROM t_user_${shardIndex} WHERE id > #{lastId} ORDER BY id LIMIT #{limit}")
+	List<UserDO> listUsernameByShard(@Param("shardIndex") int shardIndex, @Param("lastId") long lastId, @Param("limit") int limit);
 }
@@ -6,6 +6,7 @@ import cn.hutool.core.lang.UUID;
 import com.alibaba.fastjson2.JSON;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.yu.admin.common.bloom.ScalableBloomFilter;
 import com.yu.admin.common.convention.exception.ClientException;
 import com.yu.admin.common.convention.exception.ServiceException;
 import com.yu.admin.common.enums.UserErrorCodeEnum;
@@ -18,7 +19,6 @@ import com.yu.admin.dto.resp.UserLoginRespDTO;
 import com.yu.admin.dto.resp.UserRespDTO;
 import com.yu.admin.service.UserService;
 import lombok.RequiredArgsConstructor;
-import org.redisson.api.RBloomFilter;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.beans.BeanUtils;
@@ -36,7 +36,7 @@ import static com.yu.admin.common.enums.UserErrorCodeEnum.USER_SAVE_ERROR;
 @RequiredArgsConstructor
 public class UserServiceImpl extends ServiceImpl<UserMapper, UserDO> implements UserService {
 
-	private final RBloomFilter<String> userRegisterCachePenetrationBloomFilter;
+	private final ScalableBloomFilter userRegisterCachePenetrationBloomFilter;
 
 	private final RedissonClient redissonClient;
 
@@ -0,0 +1,238 @@
+package com.yu.project.common.bloom;
+
+import io.netty.buffer.ByteBuf;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBitSetAsync;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RTopic;
+import org.redisson.api.RTopicAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.misc.Hash;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 本地镜像布隆过滤器
+ * Redis 布隆过滤器仍是唯一数据源，每个节点在堆内保存一份位数组副本：
+ * 启动时分段拉取 Redis 位数组快照，之后通过发布订阅接收其它节点的新增元素，并定期全量重新同步；
+ * 镜像就绪后判断元素是否存在无需访问 Redis
+ */
+@Slf4j
+public class LocalMirrorBloomFilter {
+
+    /**
+     * 分段拉取位数组快照的单段长度，单位：字节
+     */
+    private static final int SNAPSHOT_CHUNK_BYTES = 4 * 1024 * 1024;
+
+    private final RBloomFilter<String> bloomFilter;
+
+    private final RedissonClient redissonClient;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final String addTopicName;
+
+    private final RTopic addTopic;
+
+    private final boolean enable;
+
+    private final long size;
+
+    private final int hashIterations;
+
+    private volatile AtomicLongArray words;
+
+    private volatile AtomicLongArray building;
+
+    private int listenerId = -1;
+
+    public LocalMirrorBloomFilter(RBloomFilter<String> bloomFilter, RedissonClient redissonClient, StringRedisTemplate stringRedisTemplate,
+                                  String addTopicName, boolean enable) {
+        this.bloomFilter = bloomFilter;
+        this.enable = enable;
+        this.redissonClient = redissonClient;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.addTopicName = addTopicName;
+        this.addTopic = redissonClient.getTopic(addTopicName, StringCodec.INSTANCE);
+        this.size = bloomFilter.getSize();
+        this.hashIterations = bloomFilter.getHashIterations();
+    }
+
+    /**
+     * 订阅新增事件并异步拉取首份快照，先订阅后拉取保证两者之间的新增不丢失
+     */
+    public void start() {
+        if (!enable) {
+            return;
+        }
+        listenerId = addTopic.addListener(String.class, (channel, element) -> setBits(indexes(element)));
+        Thread thread = new Thread(this::resync, "bloom-filter-local-mirror_" + bloomFilter.getName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 取消订阅并释放本地副本
+     */
+    public void stop() {
+        if (listenerId != -1) {
+            addTopic.removeListener(listenerId);
+        }
+        words = null;
+    }
+
+    /**
+     * 全量重新同步位数组，期间新增事件同时写入新旧两份副本
+     */
+    public synchronized void resync() {
+        if (!enable) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        AtomicLongArray target = new AtomicLongArray((int) ((size + 63) >>> 6));
+        building = target;
+        try {
+            stringRedisTemplate.execute((RedisCallback<Void>) connection -> {
+                snapshot(connection, target);
+                return null;
+            });
+            words = target;
+            log.info("布隆过滤器本地镜像同步完成，过滤器：{}，耗时：{} ms", bloomFilter.getName(), System.currentTimeMillis() - start);
+        } catch (Exception ex) {
+            log.error("布隆过滤器本地镜像同步失败，过滤器：{}", bloomFilter.getName(), ex);
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * 判断元素是否存在，镜像未就绪时回退到 Redis
+     */
+    public boolean contains(String element) {
+        AtomicLongArray current = words;
+        if (current == null) {
+            return bloomFilter.contains(element);
+        }
+        for (long index : indexes(element)) {
+            if ((current.get(wordIndex(index)) & bitMask(index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 新增元素：先写 Redis，再更新本地副本并广播给其它节点
+     */
+    public void add(String element) {
+        bloomFilter.add(element);
+        if (enable) {
+            setBits(indexes(element));
+            addTopic.publishAsync(element);
+        }
+    }
+
+    /**
+     * 批量新增元素：本地计算位下标，所有 SETBIT 与广播合并为一次管道请求
+     */
+    public void addAll(Collection<String> elements) {
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults().skipResult());
+        RBitSetAsync bitSet = batch.getBitSet(bloomFilter.getName());
+        RTopicAsync topic = batch.getTopic(addTopicName, StringCodec.INSTANCE);
+        for (String element : elements) {
+            long[] indexes = indexes(element);
+            for (long index : indexes) {
+                bitSet.setAsync(index);
+            }
+            if (enable) {
+                setBits(indexes);
+                topic.publishAsync(element);
+            }
+        }
+        batch.execute();
+    }
+
+    public String getName() {
+        return bloomFilter.getName();
+    }
+
+    private void setBits(long[] indexes) {
+        AtomicLongArray current = words;
+        AtomicLongArray pending = building;
+        for (long index : indexes) {
+            if (current != null) {
+                current.getAndAccumulate(wordIndex(index), bitMask(index), (prev, mask) -> prev | mask);
+            }
+            if (pending != null) {
+                pending.getAndAccumulate(wordIndex(index), bitMask(index), (prev, mask) -> prev | mask);
+            }
+        }
+    }
+
+    private void snapshot(RedisConnection connection, AtomicLongArray target) {
+        byte[] key = bloomFilter.getName().getBytes(StandardCharsets.UTF_8);
+        long totalBytes = (size + 7) >>> 3;
+        for (long offset = 0; offset < totalBytes; offset += SNAPSHOT_CHUNK_BYTES) {
+            long end = Math.min(offset + SNAPSHOT_CHUNK_BYTES, totalBytes) - 1;
+            byte[] chunk = connection.stringCommands().getRange(key, offset, end);
+            if (chunk == null || chunk.length == 0) {
+                //Redis 位数组尾部未写入的部分不会返回
+                return;
+            }
+            for (int i = 0; i < chunk.length; i++) {
+                long byteIndex = offset + i;
+                long value = (chunk[i] & 0xFFL) << ((byteIndex & 7) << 3);
+                if (value != 0) {
+                    target.getAndAccumulate((int) (byteIndex >>> 3), value, (prev, bits) -> prev | bits);
+                }
+            }
+        }
+    }
+
+    /**
+     * 与 Redisson 布隆过滤器一致的位下标计算：编码后取 HighwayHash 128 位结果做双重哈希
+     */
+    private long[] indexes(String element) {
+        long[] hashes;
+        ByteBuf state;
+        try {
+            state = bloomFilter.getCodec().getValueEncoder().encode(element);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        try {
+            hashes = Hash.hash128(state);
+        } finally {
+            state.release();
+        }
+        long[] indexes = new long[hashIterations];
+        long hash = hashes[0];
+        for (int i = 0; i < hashIterations; i++) {
+            indexes[i] = (hash & Long.MAX_VALUE) % size;
+            hash += i % 2 == 0 ? hashes[1] : hashes[0];
+        }
+        return indexes;
+    }
+
+    /**
+     * Redis 位图按字节顺序存储，字节内高位在前；本地每 8 个字节按小端拼成一个 long
+     */
+    private static int wordIndex(long index) {
+        return (int) (index >>> 6);
+    }
+
+    private static long bitMask(long index) {
+        long byteIndex = index >>> 3;
+        return 1L << (((byteIndex & 7) << 3) + (7 - (index & 7)));
+    }
+}
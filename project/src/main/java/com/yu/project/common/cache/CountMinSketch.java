@@ -0,0 +1,57 @@
+package com.yu.project.common.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch 频率估算
+ * 固定内存统计任意数量 Key 的访问次数，估算值只会偏大不会偏小
+ */
+class CountMinSketch {
+
+    private static final int DEPTH = 4;
+
+    private final int width;
+
+    private final AtomicLongArray table;
+
+    CountMinSketch(int width) {
+        this.width = width;
+        this.table = new AtomicLongArray(DEPTH * width);
+    }
+
+    void increment(String key) {
+        int hash1 = spread(key.hashCode());
+        int hash2 = spread(hash1 ^ 0x9E3779B9);
+        for (int i = 0; i < DEPTH; i++) {
+            table.incrementAndGet(i * width + index(hash1, hash2, i));
+        }
+    }
+
+    long estimate(String key) {
+        int hash1 = spread(key.hashCode());
+        int hash2 = spread(hash1 ^ 0x9E3779B9);
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, table.get(i * width + index(hash1, hash2, i)));
+        }
+        return min;
+    }
+
+    void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, 0L);
+        }
+    }
+
+    private int index(int hash1, int hash2, int row) {
+        return ((hash1 + row * hash2) & Integer.MAX_VALUE) % width;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        return hash ^ (hash >>> 16);
+    }
+}
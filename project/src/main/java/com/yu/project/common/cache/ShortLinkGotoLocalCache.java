@@ -0,0 +1,193 @@
+package com.yu.project.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.yu.project.config.ShortLinkLocalCacheConfiguration;
+import com.yu.project.dto.resp.ShortLinkLocalCacheStatsRespDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.yu.project.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_INVALIDATE_TOPIC;
+
+/**
+ * 短链接跳转本地缓存
+ * 位于 Redis 跳转缓存之前，按 W-TinyLFU 淘汰并限制总占用；短链接变更时通过 Redis 发布订阅通知所有节点失效
+ * 热点 Key 额外驻留在不参与淘汰的独立区域，由 {@link ShortLinkHotKeyDetector} 负责晋升、续期与降级
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoLocalCache {
+
+    /**
+     * 单个缓存条目对象头、引用等固定开销估算，单位：字节
+     */
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final ShortLinkLocalCacheConfiguration localCacheConfiguration;
+
+    private final RedissonClient redissonClient;
+
+    private Cache<String, GotoEntry> cache;
+
+    private final Map<String, GotoEntry> pinned = new ConcurrentHashMap<>();
+
+    private RTopic invalidateTopic;
+
+    private int listenerId;
+
+    @PostConstruct
+    public void init() {
+        long maxExpireNanos = TimeUnit.SECONDS.toNanos(localCacheConfiguration.getExpireAfterWrite());
+        cache = Caffeine.newBuilder()
+                .maximumWeight(localCacheConfiguration.getMaximumWeight())
+                .weigher((String key, GotoEntry value) -> ENTRY_OVERHEAD + 2 * (key.length() + value.originUrl().length()))
+                .expireAfter(new Expiry<String, GotoEntry>() {
+                    @Override
+                    public long expireAfterCreate(String key, GotoEntry value, long currentTime) {
+                        long validNanos = TimeUnit.MILLISECONDS.toNanos(value.expireAt() - System.currentTimeMillis());
+                        return Math.max(0L, Math.min(maxExpireNanos, validNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, GotoEntry value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, GotoEntry value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        invalidateTopic = redissonClient.getTopic(GOTO_SHORT_LINK_INVALIDATE_TOPIC, StringCodec.INSTANCE);
+        listenerId = invalidateTopic.addListener(String.class, (channel, fullShortUrl) -> invalidateLocal(fullShortUrl));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        invalidateTopic.removeListener(listenerId);
+    }
+
+    /**
+     * 获取短链接原始链接
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 原始链接，未命中或未开启本地缓存返回 null
+     */
+    public String get(String fullShortUrl) {
+        GotoEntry pinnedEntry = pinned.get(fullShortUrl);
+        if (pinnedEntry != null && pinnedEntry.expireAt() > System.currentTimeMillis()) {
+            return pinnedEntry.originUrl();
+        }
+        if (!localCacheConfiguration.getEnable()) {
+            return null;
+        }
+        GotoEntry entry = cache.getIfPresent(fullShortUrl);
+        return entry == null ? null : entry.originUrl();
+    }
+
+    /**
+     * 写入短链接跳转本地缓存
+     *
+     * @param fullShortUrl 完整短链接
+     * @param originUrl    原始链接
+     * @param validDate    有效期，永久有效传 null
+     */
+    public void put(String fullShortUrl, String originUrl, Date validDate) {
+        put(fullShortUrl, originUrl, validDate == null ? Long.MAX_VALUE : validDate.getTime());
+    }
+
+    /**
+     * 写入短链接跳转本地缓存
+     *
+     * @param fullShortUrl 完整短链接
+     * @param originUrl    原始链接
+     * @param expireAt     过期时间戳，单位：毫秒
+     */
+    public void put(String fullShortUrl, String originUrl, long expireAt) {
+        if (localCacheConfiguration.getEnable()) {
+            cache.put(fullShortUrl, new GotoEntry(originUrl, expireAt));
+        }
+    }
+
+    /**
+     * 热点 Key 驻留本地，不受容量淘汰影响
+     *
+     * @param fullShortUrl 完整短链接
+     * @param originUrl    原始链接
+     * @param expireAt     驻留过期时间戳，单位：毫秒
+     */
+    public void pin(String fullShortUrl, String originUrl, long expireAt) {
+        pinned.put(fullShortUrl, new GotoEntry(originUrl, expireAt));
+    }
+
+    /**
+     * 热点 Key 降级，取消本地驻留
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    public void unpin(String fullShortUrl) {
+        pinned.remove(fullShortUrl);
+    }
+
+    /**
+     * 通知集群所有节点失效短链接跳转本地缓存
+     * 短链接修改、停用、移入回收站或删除时，需先删除 Redis 跳转缓存再调用该方法
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    public void invalidate(String fullShortUrl) {
+        invalidateLocal(fullShortUrl);
+        try {
+            invalidateTopic.publish(fullShortUrl);
+        } catch (Exception ex) {
+            log.error("短链接本地缓存失效广播发送失败，完整短链接：{}", fullShortUrl, ex);
+        }
+    }
+
+    private void invalidateLocal(String fullShortUrl) {
+        cache.invalidate(fullShortUrl);
+        pinned.remove(fullShortUrl);
+    }
+
+    /**
+     * 本地缓存命中统计
+     */
+    public ShortLinkLocalCacheStatsRespDTO stats() {
+        CacheStats cacheStats = cache.stats();
+        return ShortLinkLocalCacheStatsRespDTO.builder()
+                .size(cache.estimatedSize())
+                .weight(cache.policy().eviction().map(each -> each.weightedSize().orElse(0L)).orElse(0L))
+                .maximumWeight(localCacheConfiguration.getMaximumWeight())
+                .hitCount(cacheStats.hitCount())
+                .missCount(cacheStats.missCount())
+                .hitRate(cacheStats.hitRate())
+                .evictionCount(cacheStats.evictionCount())
+                .evictionWeight(cacheStats.evictionWeight())
+                .build();
+    }
+
+    /**
+     * 本地缓存条目
+     *
+     * @param originUrl 原始链接
+     * @param expireAt  过期时间戳，单位：毫秒
+     */
+    private record GotoEntry(String originUrl, long expireAt) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.yu.project.common.cache;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.yu.project.dao.entity.ShortLinkDO;
+import com.yu.project.dao.mapper.ShortLinkMapper;
+import com.yu.project.toolkit.RedisLuaScript;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_GROUP_COUNT_KEY;
+import static com.yu.project.common.constant.ShortLinkConstant.SHORT_LINK_GROUP_COUNT_INCR_LUA_SCRIPT_PATH;
+
+/**
+ * 分组短链接数量缓存
+ * 分页查询的总数直接读取 Redis 计数，不再对 t_link 执行 COUNT；创建、删除、移入回收站、从回收站恢复时增量修正，
+ * 计数未缓存时从数据库统计一次，缓存定期过期重新统计，修正增量与首次统计并发时产生的偏差
+ */
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGroupCountCache {
+
+    /**
+     * 计数缓存有效时间
+     */
+    private static final long COUNT_CACHE_TIMEOUT_HOURS = 24L;
+
+    private final RedisLuaScript<Long> incrScript = new RedisLuaScript<>(SHORT_LINK_GROUP_COUNT_INCR_LUA_SCRIPT_PATH, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ShortLinkMapper shortLinkMapper;
+
+    /**
+     * 获取分组短链接数量
+     *
+     * @param gid 分组标识
+     * @return 启用且未删除的短链接数量
+     */
+    public long count(String gid) {
+        return count(List.of(gid)).get(gid);
+    }
+
+    /**
+     * 批量获取分组短链接数量，各分组计数 Key 位于不同槽位，通过管道逐个 GET 读取，集群模式下不会出现跨槽错误
+     *
+     * @param gids 分组标识集合
+     * @return 分组标识与短链接数量
+     */
+    public Map<String, Long> count(List<String> gids) {
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        List<Object> cached = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            gids.forEach(each -> connection.stringCommands().get(serializer.serialize(countKey(each))));
+            return null;
+        });
+        Map<String, Long> result = new LinkedHashMap<>(gids.size() * 2);
+        for (int i = 0; i < gids.size(); i++) {
+            String gid = gids.get(i);
+            Object value = cached.get(i);
+            result.put(gid, value != null ? Long.parseLong(value.toString()) : load(gid));
+        }
+        return result;
+    }
+
+    /**
+     * 按分组累加新建短链接数量
+     *
+     * @param shortLinks 新建短链接集合
+     */
+    public void incrementAll(List<ShortLinkDO> shortLinks) {
+        Map<String, Long> deltas = shortLinks.stream().collect(Collectors.groupingBy(ShortLinkDO::getGid, Collectors.counting()));
+        increment(deltas);
+    }
+
+    /**
+     * 按分组修正短链接数量，删除、移入回收站时增量为负数，从回收站恢复时为正数
+     *
+     * @param deltas 分组标识与数量增量
+     */
+    public void increment(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        incrScript.executePipelined(stringRedisTemplate, connection -> deltas.forEach((gid, delta) ->
+                incrScript.evalSha(connection, 1, serializer.serialize(countKey(gid)), serializer.serialize(String.valueOf(delta)))));
+    }
+
+    private long load(String gid) {
+        long count = shortLinkMapper.selectCount(Wrappers.lambdaQuery(ShortLinkDO.class)
+                .eq(ShortLinkDO::getGid, gid)
+                .eq(ShortLinkDO::getEnableStatus, 0)
+                .eq(ShortLinkDO::getDelFlag, 0));
+        //并发统计时以先写入的结果为准
+        Boolean absent = stringRedisTemplate.opsForValue().setIfAbsent(countKey(gid), String.valueOf(count), COUNT_CACHE_TIMEOUT_HOURS, TimeUnit.HOURS);
+        if (Boolean.TRUE.equals(absent)) {
+            return count;
+        }
+        String current = stringRedisTemplate.opsForValue().get(countKey(gid));
+        return current != null ? Long.parseLong(current) : count;
+    }
+
+    private String countKey(String gid) {
+        return String.format(SHORT_LINK_GROUP_COUNT_KEY, gid);
+    }
+}
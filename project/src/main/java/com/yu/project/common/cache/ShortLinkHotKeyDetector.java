@@ -0,0 +1,152 @@
+package com.yu.project.common.cache;
+
+import cn.hutool.core.util.StrUtil;
+import com.yu.project.config.ShortLinkHotKeyConfiguration;
+import com.yu.project.dto.resp.ShortLinkHotKeyRespDTO;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.yu.project.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+
+/**
+ * 短链接热点 Key 探测器
+ * 跳转请求按比例采样，写入按秒滚动的 Count-Min Sketch 滑动窗口估算单节点 QPS；
+ * 超过阈值的短链接晋升为热点并驻留本地，后台定时从 Redis 刷新续期，流量回落到阈值一半以下后降级
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkHotKeyDetector {
+
+    private static final int SKETCH_WIDTH = 4096;
+
+    private final ShortLinkHotKeyConfiguration hotKeyConfiguration;
+
+    private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final Map<String, Long> hotKeys = new ConcurrentHashMap<>();
+
+    private CountMinSketch[] buckets;
+
+    private volatile int current;
+
+    @PostConstruct
+    public void init() {
+        buckets = new CountMinSketch[hotKeyConfiguration.getWindowSeconds()];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new CountMinSketch(SKETCH_WIDTH);
+        }
+    }
+
+    /**
+     * 记录一次成功跳转
+     *
+     * @param fullShortUrl 完整短链接
+     * @param originUrl    原始链接
+     */
+    public void record(String fullShortUrl, String originUrl) {
+        if (!hotKeyConfiguration.getEnable()
+                || ThreadLocalRandom.current().nextInt(hotKeyConfiguration.getSampleRate()) != 0) {
+            return;
+        }
+        buckets[current].increment(fullShortUrl);
+        if (hotKeys.containsKey(fullShortUrl)) {
+            return;
+        }
+        long qps = estimateQps(fullShortUrl);
+        if (qps >= hotKeyConfiguration.getThreshold()) {
+            promote(fullShortUrl, originUrl, qps);
+        }
+    }
+
+    /**
+     * 查询当前节点热点 Key，按 QPS 降序
+     */
+    public List<ShortLinkHotKeyRespDTO> listHotKeys() {
+        return hotKeys.entrySet().stream()
+                .map(each -> new ShortLinkHotKeyRespDTO(each.getKey(), each.getValue()))
+                .sorted(Comparator.comparing(ShortLinkHotKeyRespDTO::getQps).reversed())
+                .toList();
+    }
+
+    /**
+     * 滑动窗口前进一格，清空最旧的时间桶
+     */
+    @Scheduled(fixedRate = 1000)
+    public void rotate() {
+        int next = (current + 1) % buckets.length;
+        buckets[next].clear();
+        current = next;
+    }
+
+    /**
+     * 刷新热点 Key：流量回落的降级，其余从 Redis 批量取回最新原始链接并续期
+     */
+    @Scheduled(fixedDelayString = "${short-link.cache.hot-key.refresh-interval:1000}")
+    public void refresh() {
+        if (hotKeys.isEmpty()) {
+            return;
+        }
+        List<String> fullShortUrls = new ArrayList<>(hotKeys.keySet());
+        List<String> originUrls = stringRedisTemplate.opsForValue().multiGet(fullShortUrls.stream()
+                .map(each -> String.format(GOTO_SHORT_LINK_KEY, each))
+                .toList());
+        long expireAt = System.currentTimeMillis() + hotKeyConfiguration.getPinTtl();
+        for (int i = 0; i < fullShortUrls.size(); i++) {
+            String fullShortUrl = fullShortUrls.get(i);
+            String originUrl = originUrls == null ? null : originUrls.get(i);
+            long qps = estimateQps(fullShortUrl);
+            if (StrUtil.isBlank(originUrl) || qps < hotKeyConfiguration.getThreshold() / 2) {
+                demote(fullShortUrl);
+                continue;
+            }
+            hotKeys.put(fullShortUrl, qps);
+            shortLinkGotoLocalCache.pin(fullShortUrl, originUrl, expireAt);
+        }
+    }
+
+    private long estimateQps(String fullShortUrl) {
+        long sampled = 0L;
+        for (CountMinSketch each : buckets) {
+            sampled += each.estimate(fullShortUrl);
+        }
+        return sampled * hotKeyConfiguration.getSampleRate() / buckets.length;
+    }
+
+    private synchronized void promote(String fullShortUrl, String originUrl, long qps) {
+        if (hotKeys.containsKey(fullShortUrl)) {
+            return;
+        }
+        if (hotKeys.size() >= hotKeyConfiguration.getTopK()) {
+            Map.Entry<String, Long> coldest = hotKeys.entrySet().stream()
+                    .min(Map.Entry.comparingByValue())
+                    .orElse(null);
+            if (coldest == null || coldest.getValue() >= qps) {
+                return;
+            }
+            demote(coldest.getKey());
+        }
+        hotKeys.put(fullShortUrl, qps);
+        shortLinkGotoLocalCache.pin(fullShortUrl, originUrl, System.currentTimeMillis() + hotKeyConfiguration.getPinTtl());
+        log.info("短链接晋升为热点 Key，完整短链接：{}，估算 QPS：{}", fullShortUrl, qps);
+    }
+
+    private void demote(String fullShortUrl) {
+        hotKeys.remove(fullShortUrl);
+        shortLinkGotoLocalCache.unpin(fullShortUrl);
+        log.info("热点 Key 降级，完整短链接：{}", fullShortUrl);
+    }
+}
@@ -10,6 +10,11 @@ public class RedisKeyConstant {
      */
     public static final String GOTO_SHORT_LINK_KEY = "short-link_goto_%s";
 
+    /**
+     * 短链接跳转本地缓存失效广播 Topic
+     */
+    public static final String GOTO_SHORT_LINK_INVALIDATE_TOPIC = "short-link_goto_invalidate-topic";
+
     /**
      * 短链接空值跳转前缀 Key
      */
@@ -25,8 +30,143 @@ public class RedisKeyConstant {
      */
     public static final String LOCK_GID_UPDATE_KEY = "short-link_lock_update-gid_%s";
 
+    /**
+     * 布隆过滤器新增元素广播 Topic，用于同步各节点本地镜像
+     */
+    public static final String BLOOM_FILTER_ADD_TOPIC = "short-link_bloom-filter_add-topic_%s";
+
+    /**
+     * 布隆过滤器元数据变更广播 Topic，用于通知各节点重新加载切片
+     */
+    public static final String BLOOM_FILTER_CONTROL_TOPIC = "short-link_bloom-filter_control-topic_%s";
+
+    /**
+     * 布隆过滤器重建锁前缀 Key
+     */
+    public static final String LOCK_BLOOM_FILTER_REBUILD_KEY = "short-link_lock_bloom-filter-rebuild_%s";
+
+    /**
+     * 分组短链接数量缓存 Key
+     */
+    public static final String SHORT_LINK_GROUP_COUNT_KEY = "short-link_group-count_%s";
+
+    /**
+     * 原短链接后缀号段分配 Key，仅在首次启用数据库号段时读取作为起点
+     */
+    public static final String SUFFIX_SEGMENT_KEY = "short-link_suffix_segment";
+
     /**
      * 短链接延迟队列消费统计 Key
      */
     public static final String DELAY_QUEUE_STATS_KEY = "short-link_delay-queue:stats";
+
+    /**
+     * 短链接访问统计死信消息流 Key
+     */
+    public static final String DELAY_QUEUE_STATS_DEAD_LETTER_KEY = "short-link_delay-queue:stats:dead-letter";
+
+    /**
+     * 短链接每日 UV 基数估计 Key，分组标识作为哈希标签保证同分组的 Key 落在同一槽位
+     */
+    public static final String SHORT_LINK_STATS_UV_DAILY_KEY = "short-link_stats_uv_{%s}_%s_%s";
+
+    /**
+     * 短链接每日 UIP 基数估计 Key
+     */
+    public static final String SHORT_LINK_STATS_UIP_DAILY_KEY = "short-link_stats_uip_{%s}_%s_%s";
+
+    /**
+     * 短链接历史累计 UV 基数估计 Key
+     */
+    public static final String SHORT_LINK_STATS_UV_TOTAL_KEY = "short-link_stats_uv_{%s}_%s";
+
+    /**
+     * 短链接历史累计 UIP 基数估计 Key
+     */
+    public static final String SHORT_LINK_STATS_UIP_TOTAL_KEY = "short-link_stats_uip_{%s}_%s";
+
+    /**
+     * 分组当日访问计数 Key，Hash 字段为完整短链接加 pv、uv、uip 后缀
+     */
+    public static final String SHORT_LINK_STATS_TODAY_KEY = "short-link_stats_today_{%s}_%s";
+
+    /**
+     * 当日存在访问的分组集合 Key
+     */
+    public static final String SHORT_LINK_STATS_TODAY_GIDS_KEY = "short-link_stats_today-gids_%s";
+
+    /**
+     * 当日访问计数归档锁前缀 Key
+     */
+    public static final String LOCK_STATS_TODAY_COMPACT_KEY = "short-link_lock_stats-today-compact_%s";
+
+    /**
+     * 分组累计访问计数待落库增量 Key，Hash 字段为完整短链接加 pv、uv、uip 后缀
+     */
+    public static final String SHORT_LINK_STATS_TOTAL_DELTA_KEY = "short-link_stats_total-delta_{%s}";
+
+    /**
+     * 分组累计访问计数落库中增量 Key
+     */
+    public static final String SHORT_LINK_STATS_TOTAL_FLUSHING_KEY = "short-link_stats_total-delta_{%s}_flushing";
+
+    /**
+     * 存在待落库累计计数增量的分组集合 Key
+     */
+    public static final String SHORT_LINK_STATS_TOTAL_DIRTY_KEY = "short-link_stats_total-delta_dirty-gids";
+
+    /**
+     * 累计访问计数落库锁 Key
+     */
+    public static final String LOCK_STATS_TOTAL_FLUSH_KEY = "short-link_lock_stats-total-flush";
+
+    /**
+     * 分组累计计数排行 Key，按排序标识区分 PV、UV、UIP
+     */
+    public static final String SHORT_LINK_STATS_RANK_KEY = "short-link_stats_rank_{%s}_%s";
+
+    /**
+     * 分组当日计数排行 Key
+     */
+    public static final String SHORT_LINK_STATS_TODAY_RANK_KEY = "short-link_stats_rank_{%s}_%s_%s";
+
+    /**
+     * 分组累计计数排行初始化标识 Key
+     */
+    public static final String SHORT_LINK_STATS_RANK_SEEDED_KEY = "short-link_stats_rank-seeded_{%s}";
+
+    /**
+     * 分组当日计数排行初始化标识 Key
+     */
+    public static final String SHORT_LINK_STATS_TODAY_RANK_SEEDED_KEY = "short-link_stats_rank-seeded_{%s}_%s";
+
+    /**
+     * 分组排行初始化锁前缀 Key
+     */
+    public static final String LOCK_STATS_RANK_SEED_KEY = "short-link_lock_stats-rank-seed_%s";
+
+    /**
+     * 基数估计合并临时 Key
+     */
+    public static final String SHORT_LINK_STATS_UNIQUE_MERGE_KEY = "short-link_stats_unique-merge_{%s}_%s";
+
+    /**
+     * 访客标识与稠密整数编号映射 Key，按周期与访客标识哈希分桶
+     */
+    public static final String SHORT_LINK_STATS_VISITOR_ID_KEY = "short-link_stats_visitor-id_%d_%d";
+
+    /**
+     * 访客稠密整数编号分配序列 Key
+     */
+    public static final String SHORT_LINK_STATS_VISITOR_ID_SEQUENCE_KEY = "short-link_stats_visitor-id_sequence";
+
+    /**
+     * 短链接每日访客位图 Key，值为追加写入的 Roaring Bitmap 增量列表
+     */
+    public static final String SHORT_LINK_STATS_UV_BITMAP_KEY = "short-link_stats_uv-bitmap_%s_%s";
+
+    /**
+     * 短链接每日访客位图压缩合并锁前缀 Key
+     */
+    public static final String LOCK_UV_BITMAP_COMPACT_KEY = "short-link_lock_uv-bitmap-compact_%s";
 }
@@ -14,4 +14,44 @@ public class ShortLinkConstant {
      * 高德获取地区接口地址
      */
     public static final String AMAP_REMOTE_URL = "https://restapi.amap.com/v3/ip";
+
+    /**
+     * 高德获取地区接口熔断资源名称
+     */
+    public static final String AMAP_REMOTE_RESOURCE = "amap_ip-location";
+
+    /**
+     * 短链接访问统计 Redis 记录 Lua 脚本路径
+     */
+    public static final String SHORT_LINK_STATS_CLICK_LUA_SCRIPT_PATH = "lua/short_link_stats_click.lua";
+
+    /**
+     * 短链接累计计数增量取出 Lua 脚本路径
+     */
+    public static final String SHORT_LINK_STATS_TOTAL_TAKE_LUA_SCRIPT_PATH = "lua/short_link_stats_total_take.lua";
+
+    /**
+     * 短链接分组累计排行初始化 Lua 脚本路径
+     */
+    public static final String SHORT_LINK_STATS_RANK_SEED_LUA_SCRIPT_PATH = "lua/short_link_stats_rank_seed.lua";
+
+    /**
+     * 短链接分组当日排行初始化 Lua 脚本路径
+     */
+    public static final String SHORT_LINK_STATS_RANK_TODAY_SEED_LUA_SCRIPT_PATH = "lua/short_link_stats_rank_today_seed.lua";
+
+    /**
+     * 新建短链接加入分组排行 Lua 脚本路径
+     */
+    public static final String SHORT_LINK_STATS_RANK_ADD_LUA_SCRIPT_PATH = "lua/short_link_stats_rank_add.lua";
+
+    /**
+     * 分组短链接数量累加 Lua 脚本路径
+     */
+    public static final String SHORT_LINK_GROUP_COUNT_INCR_LUA_SCRIPT_PATH = "lua/short_link_group_count_incr.lua";
+
+    /**
+     * 分组排行游标分页 Lua 脚本路径
+     */
+    public static final String SHORT_LINK_STATS_RANK_PAGE_LUA_SCRIPT_PATH = "lua/short_link_stats_rank_page.lua";
 }
@@ -0,0 +1,53 @@
+package com.yu.project.common.database;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 查询截止时间拦截器
+ * 在 {@link #callWithDeadline(long, Supplier)} 范围内执行的 SQL 按剩余时间设置 JDBC 语句超时，超时后由数据库驱动取消语句并释放线程；
+ * JDBC 语句超时以秒为单位，剩余时间向上取整且至少 1 秒
+ */
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+public class QueryTimeoutInterceptor implements Interceptor {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    /**
+     * 在截止时间内执行查询
+     *
+     * @param deadlineNanos 截止时间，取值同 {@link System#nanoTime()}
+     * @param query         查询
+     * @return 查询结果
+     */
+    public static <T> T callWithDeadline(long deadlineNanos, Supplier<T> query) {
+        DEADLINE_NANOS.set(deadlineNanos);
+        try {
+            return query.get();
+        } finally {
+            DEADLINE_NANOS.remove();
+        }
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        Long deadlineNanos = DEADLINE_NANOS.get();
+        if (deadlineNanos != null && result instanceof Statement statement) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            int timeoutSeconds = (int) Math.max(1L, (remainingMillis + 999L) / 1000L);
+            if (statement.getQueryTimeout() == 0 || statement.getQueryTimeout() > timeoutSeconds) {
+                statement.setQueryTimeout(timeoutSeconds);
+            }
+        }
+        return result;
+    }
+}
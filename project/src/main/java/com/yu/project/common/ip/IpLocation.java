@@ -0,0 +1,17 @@
+package com.yu.project.common.ip;
+
+/**
+ * IP 地理位置
+ *
+ * @param country  国家
+ * @param province 省份名称
+ * @param city     市名称
+ * @param adcode   城市编码
+ */
+public record IpLocation(String country, String province, String city, String adcode) {
+
+    /**
+     * 未知地区，解析失败或熔断降级时返回
+     */
+    public static final IpLocation UNKNOWN = new IpLocation("未知", "未知", "未知", "未知");
+}
@@ -0,0 +1,233 @@
+package com.yu.project.common.ip;
+
+import cn.hutool.core.util.StrUtil;
+import com.yu.project.config.IpLocationDatabaseConfiguration;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 离线 IP 地址库
+ * 地址段按起始 IP 排序后保存在基本类型数组中，先按 IP 前 16 位定位区间再二分查找，不依赖远程接口；
+ * 定时检查地址库文件修改时间，有新版本时在后台加载完成后整体替换，查询无需加锁
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IpLocationDatabase {
+
+    private final IpLocationDatabaseConfiguration ipLocationDatabaseConfiguration;
+
+    /**
+     * IP 前 16 位前缀数量
+     */
+    private static final int PREFIX_COUNT = 1 << 16;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private volatile long loadedModifiedTime = -1L;
+
+    @PostConstruct
+    public void init() {
+        if (ipLocationDatabaseConfiguration.getEnable()) {
+            reloadIfModified();
+        }
+    }
+
+    /**
+     * 查询 IP 地理位置
+     *
+     * @param ip IPv4 地址
+     * @return 地理位置，IP 非法、非 IPv4 或不在地址库中返回 null
+     */
+    public IpLocation lookup(String ip) {
+        long address = parseIpv4(ip);
+        return address < 0 ? null : snapshot.lookup((int) address);
+    }
+
+    /**
+     * 地址库中的地址段数量
+     */
+    public int size() {
+        return snapshot.starts.length;
+    }
+
+    /**
+     * 地址库文件有更新时重新加载
+     */
+    @Scheduled(fixedDelayString = "${short-link.stats.locale.ip-db.reload-interval:60000}")
+    public void reloadIfModified() {
+        if (!ipLocationDatabaseConfiguration.getEnable()) {
+            return;
+        }
+        Path path = Paths.get(ipLocationDatabaseConfiguration.getPath());
+        try {
+            if (!Files.isRegularFile(path)) {
+                if (loadedModifiedTime < 0) {
+                    log.warn("离线 IP 地址库文件不存在：{}", path.toAbsolutePath());
+                    loadedModifiedTime = 0L;
+                }
+                return;
+            }
+            long modifiedTime = Files.getLastModifiedTime(path).toMillis();
+            if (modifiedTime == loadedModifiedTime) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            snapshot = load(path);
+            loadedModifiedTime = modifiedTime;
+            log.info("离线 IP 地址库加载完成，地址段：{}，耗时：{} ms", snapshot.starts.length, System.currentTimeMillis() - start);
+        } catch (Exception ex) {
+            log.error("离线 IP 地址库加载失败，继续使用当前版本：{}", path.toAbsolutePath(), ex);
+        }
+    }
+
+    private static Snapshot load(Path path) throws IOException {
+        int capacity = 1 << 16;
+        int[] starts = new int[capacity];
+        int[] ends = new int[capacity];
+        int[] locationIndexes = new int[capacity];
+        Map<IpLocation, Integer> locationMap = new HashMap<>();
+        int size = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (StrUtil.isBlank(line) || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                long start = fields.length < 6 ? -1 : parseIpv4(fields[0].trim());
+                long end = fields.length < 6 ? -1 : parseIpv4(fields[1].trim());
+                if (start < 0 || end < start) {
+                    log.warn("离线 IP 地址库第 {} 行格式错误，已跳过：{}", lineNumber, line);
+                    continue;
+                }
+                if (size == starts.length) {
+                    starts = Arrays.copyOf(starts, size << 1);
+                    ends = Arrays.copyOf(ends, size << 1);
+                    locationIndexes = Arrays.copyOf(locationIndexes, size << 1);
+                }
+                IpLocation location = new IpLocation(emptyToNull(fields[2]), emptyToNull(fields[3]), emptyToNull(fields[4]), emptyToNull(fields[5]));
+                starts[size] = flip((int) start);
+                ends[size] = flip((int) end);
+                locationIndexes[size] = locationMap.computeIfAbsent(location, each -> locationMap.size());
+                size++;
+            }
+        }
+
+        //按起始 IP 排序，排序键为翻转符号位后的有符号整数
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        int[] unsortedStarts = starts;
+        Arrays.sort(order, (a, b) -> Integer.compare(unsortedStarts[a], unsortedStarts[b]));
+        int[] sortedStarts = new int[size];
+        int[] sortedEnds = new int[size];
+        int[] sortedLocationIndexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedStarts[i] = starts[order[i]];
+            sortedEnds[i] = ends[order[i]];
+            sortedLocationIndexes[i] = locationIndexes[order[i]];
+        }
+        IpLocation[] locations = new IpLocation[locationMap.size()];
+        locationMap.forEach((location, index) -> locations[index] = location);
+
+        //前缀索引：prefixIndexes[p] 为第一个起始 IP 不小于 p.0.0 的地址段下标
+        int[] prefixIndexes = new int[PREFIX_COUNT + 1];
+        int cursor = 0;
+        for (int prefix = 0; prefix < PREFIX_COUNT; prefix++) {
+            int key = flip(prefix << 16);
+            while (cursor < size && sortedStarts[cursor] < key) {
+                cursor++;
+            }
+            prefixIndexes[prefix] = cursor;
+        }
+        prefixIndexes[PREFIX_COUNT] = size;
+        return new Snapshot(sortedStarts, sortedEnds, sortedLocationIndexes, locations, prefixIndexes);
+    }
+
+    /**
+     * 不分配对象解析 IPv4 地址
+     *
+     * @return 无符号 32 位地址，非法地址返回 -1
+     */
+    static long parseIpv4(String ip) {
+        if (ip == null) {
+            return -1;
+        }
+        int length = ip.length();
+        if (length < 7 || length > 15) {
+            return -1;
+        }
+        long address = 0;
+        int octet = 0;
+        int digits = 0;
+        int dots = 0;
+        for (int i = 0; i < length; i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = octet * 10 + (c - '0');
+                if (++digits > 3 || octet > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && digits > 0 && ++dots <= 3) {
+                address = (address << 8) | octet;
+                octet = 0;
+                digits = 0;
+            } else {
+                return -1;
+            }
+        }
+        if (dots != 3 || digits == 0) {
+            return -1;
+        }
+        return (address << 8) | octet;
+    }
+
+    /**
+     * 翻转符号位，使无符号地址可以直接按有符号整数比较
+     */
+    private static int flip(int address) {
+        return address ^ Integer.MIN_VALUE;
+    }
+
+    private static String emptyToNull(String value) {
+        return StrUtil.isBlank(value) ? null : value.trim();
+    }
+
+    private record Snapshot(int[] starts, int[] ends, int[] locationIndexes, IpLocation[] locations, int[] prefixIndexes) {
+
+        private static final Snapshot EMPTY = new Snapshot(new int[0], new int[0], new int[0], new IpLocation[0], new int[PREFIX_COUNT + 1]);
+
+        private IpLocation lookup(int address) {
+            int key = flip(address);
+            int prefix = address >>> 16;
+            //候选区间包含前缀内的地址段以及前缀之前最后一个可能跨越前缀的地址段
+            int from = Math.max(prefixIndexes[prefix] - 1, 0);
+            int to = prefixIndexes[prefix + 1];
+            int index = Arrays.binarySearch(starts, from, to, key);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            if (index < 0 || key > ends[index]) {
+                return null;
+            }
+            return locations[locationIndexes[index]];
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.yu.project.common.ip;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.http.HttpUtil;
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.Tracer;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yu.project.config.IpLocationResolverConfiguration;
+import com.yu.project.toolkit.GroupCommitter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.yu.project.common.constant.ShortLinkConstant.AMAP_REMOTE_RESOURCE;
+import static com.yu.project.common.constant.ShortLinkConstant.AMAP_REMOTE_URL;
+
+/**
+ * IP 地理位置异步解析
+ * 同一 /24 网段的解析结果带过期时间缓存，正在解析的网段并发请求共享同一个 {@link CompletableFuture}；
+ * 缓存未命中的网段攒批后先查离线地址库，仍未命中的再并发调用高德接口，接口慢或熔断时降级为未知地区，不阻塞统计写入
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IpLocationResolver {
+
+    private final IpLocationDatabase ipLocationDatabase;
+
+    private final IpLocationResolverConfiguration resolverConfiguration;
+
+    @Value("${short-link.stats.locale.amap-key}")
+    private String statsLocaleAmapKey;
+
+    private AsyncCache<Integer, IpLocation> locationCache;
+
+    private GroupCommitter<Integer, IpLocation> resolveCommitter;
+
+    private ExecutorService remoteExecutor;
+
+    @PostConstruct
+    public void init() {
+        locationCache = Caffeine.newBuilder()
+                .maximumSize(resolverConfiguration.getCacheMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(resolverConfiguration.getCacheTtl()))
+                .buildAsync();
+        remoteExecutor = Executors.newFixedThreadPool(resolverConfiguration.getRemoteConcurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "short-link_ip-location-remote");
+            thread.setDaemon(true);
+            return thread;
+        });
+        resolveCommitter = new GroupCommitter<>(
+                "short-link_ip-location-resolve",
+                resolverConfiguration.getQueueCapacity(),
+                resolverConfiguration.getBatchWindowMillis(),
+                resolverConfiguration.getBatchSize(),
+                this::resolveBatch
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resolveCommitter.shutdown();
+        remoteExecutor.shutdownNow();
+    }
+
+    /**
+     * 异步解析 IP 地理位置
+     *
+     * @param ip IPv4 地址
+     * @return 地理位置，解析失败返回 {@link IpLocation#UNKNOWN}
+     */
+    public CompletableFuture<IpLocation> resolve(String ip) {
+        long address = IpLocationDatabase.parseIpv4(ip);
+        if (address < 0) {
+            return CompletableFuture.completedFuture(IpLocation.UNKNOWN);
+        }
+        int network = (int) (address >>> 8);
+        //结果为 null 时 Caffeine 不缓存，降级结果下次重新解析
+        return locationCache.get(network, (key, executor) -> submit(key))
+                .thenApply(each -> each == null ? IpLocation.UNKNOWN : each)
+                .exceptionally(ex -> IpLocation.UNKNOWN);
+    }
+
+    private CompletableFuture<IpLocation> submit(Integer network) {
+        try {
+            return resolveCommitter.submit(network);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * 批量解析网段：离线地址库命中直接返回，其余并发调用高德接口并等待全部完成
+     */
+    private void resolveBatch(List<GroupCommitter.Entry<Integer, IpLocation>> entries) {
+        Map<GroupCommitter.Entry<Integer, IpLocation>, CompletableFuture<IpLocation>> remoteFutures = new HashMap<>();
+        for (GroupCommitter.Entry<Integer, IpLocation> each : entries) {
+            String ip = toIp(each.getRequest());
+            IpLocation location = ipLocationDatabase.lookup(ip);
+            if (location != null) {
+                each.complete(location);
+            } else if (resolverConfiguration.getRemoteEnable() && StrUtil.isNotBlank(statsLocaleAmapKey)) {
+                remoteFutures.put(each, CompletableFuture.supplyAsync(() -> resolveRemote(ip), remoteExecutor));
+            } else {
+                each.complete(null);
+            }
+        }
+        if (remoteFutures.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<Void>> completions = new ArrayList<>(remoteFutures.size());
+        remoteFutures.forEach((entry, future) -> completions.add(future
+                .completeOnTimeout(null, resolverConfiguration.getRemoteTimeout() * 2L, TimeUnit.MILLISECONDS)
+                .handle((location, ex) -> {
+                    entry.complete(ex == null ? location : null);
+                    return null;
+                })));
+        CompletableFuture.allOf(completions.toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * 调用高德接口解析地区，熔断或调用失败返回 null
+     */
+    private IpLocation resolveRemote(String ip) {
+        Entry entry = null;
+        try {
+            entry = SphU.entry(AMAP_REMOTE_RESOURCE);
+            Map<String, Object> localeParamMap = new HashMap<>();
+            localeParamMap.put("key", statsLocaleAmapKey);
+            localeParamMap.put("ip", ip);
+            String localeResultStr = HttpUtil.get(AMAP_REMOTE_URL, localeParamMap, resolverConfiguration.getRemoteTimeout());
+            JSONObject localeResultObj = JSON.parseObject(localeResultStr);
+            if (localeResultObj == null || !StrUtil.equals(localeResultObj.getString("infocode"), "10000")) {
+                return null;
+            }
+            String province = localeResultObj.getString("province");
+            if (StrUtil.isBlank(province) || StrUtil.equals(province, "[]")) {
+                return IpLocation.UNKNOWN;
+            }
+            return new IpLocation("中国", province, localeResultObj.getString("city"), localeResultObj.getString("adcode"));
+        } catch (BlockException ex) {
+            return null;
+        } catch (Exception ex) {
+            Tracer.trace(ex);
+            log.warn("高德接口解析 IP 地区失败，IP：{}", ip, ex);
+            return null;
+        } finally {
+            if (entry != null) {
+                entry.exit();
+            }
+        }
+    }
+
+    /**
+     * 使用网段首个地址查询，同一 /24 网段地区相同
+     */
+    private static String toIp(int network) {
+        return (network >>> 16 & 0xFF) + "." + (network >>> 8 & 0xFF) + "." + (network & 0xFF) + ".0";
+    }
+}
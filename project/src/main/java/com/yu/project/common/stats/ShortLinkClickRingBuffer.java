@@ -0,0 +1,238 @@
+package com.yu.project.common.stats;
+
+import com.yu.project.config.ShortLinkStatsCaptureConfiguration;
+import com.yu.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.yu.project.dto.resp.ShortLinkStatsCaptureMetricsRespDTO;
+import com.yu.project.mq.producer.ShortLinkStatsSaveProducer;
+import com.yu.project.toolkit.LinkUtil;
+import com.yu.project.toolkit.UserAgentClassifier;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 短链接访问采集环形缓冲区
+ * 预分配可复用的访问槽位，跳转线程通过 CAS 无锁领取槽位写入原始访问信息后发布序号即可返回；
+ * 单个消费线程按序号顺序取出访问事件，解析 User-Agent 后批量发送到统计消息流
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkClickRingBuffer {
+
+    private final ShortLinkStatsCaptureConfiguration captureConfiguration;
+
+    private final ShortLinkStatsSaveProducer shortLinkStatsSaveProducer;
+
+    private Slot[] slots;
+
+    private int mask;
+
+    /**
+     * 已领取的最大序号
+     */
+    private final AtomicLong claimed = new AtomicLong(-1L);
+
+    /**
+     * 已消费的最大序号，只由消费线程写入
+     */
+    private final AtomicLong consumed = new AtomicLong(-1L);
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder sendFailed = new LongAdder();
+
+    private volatile long consumerLagMillis;
+
+    private volatile boolean running = true;
+
+    private boolean blockOnOverflow;
+
+    private Thread consumer;
+
+    @PostConstruct
+    public void start() {
+        int capacity = Integer.highestOneBit(Math.max(captureConfiguration.getBufferSize() - 1, 1)) << 1;
+        slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        mask = capacity - 1;
+        blockOnOverflow = Objects.equals(captureConfiguration.getOverflowPolicy(), "block");
+        consumer = new Thread(this::drain, "short-link_stats-capture");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 写入一次访问，缓冲区满时按配置丢弃或有限等待
+     *
+     * @param fullShortUrl 完整短链接
+     * @param remoteAddr   访问 IP
+     * @param userAgent    User-Agent 原始值
+     * @param uv           访客标识
+     * @return 是否写入成功
+     */
+    public boolean publish(String fullShortUrl, String remoteAddr, String userAgent, String uv) {
+        long sequence = claim();
+        if (sequence < 0) {
+            dropped.increment();
+            return false;
+        }
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.fullShortUrl = fullShortUrl;
+        slot.remoteAddr = remoteAddr;
+        slot.userAgent = userAgent;
+        slot.uv = uv;
+        slot.timestamp = System.currentTimeMillis();
+        slot.publishedSequence = sequence;
+        return true;
+    }
+
+    /**
+     * 缓冲区指标
+     */
+    public ShortLinkStatsCaptureMetricsRespDTO metrics() {
+        long claimedSequence = claimed.get();
+        long consumedSequence = consumed.get();
+        return ShortLinkStatsCaptureMetricsRespDTO.builder()
+                .capacity(slots.length)
+                .depth(claimedSequence - consumedSequence)
+                .published(claimedSequence + 1)
+                .consumed(consumedSequence + 1)
+                .dropped(dropped.sum())
+                .sendFailed(sendFailed.sum())
+                .consumerLagMillis(consumerLagMillis)
+                .build();
+    }
+
+    /**
+     * 领取序号，领取前确认目标槽位已被消费，避免覆盖未发送的事件
+     *
+     * @return 序号，缓冲区已满返回 -1
+     */
+    private long claim() {
+        long deadline = 0L;
+        while (true) {
+            long current = claimed.get();
+            long next = current + 1;
+            if (next - consumed.get() <= slots.length) {
+                if (claimed.compareAndSet(current, next)) {
+                    return next;
+                }
+                continue;
+            }
+            if (!blockOnOverflow || !running) {
+                return -1L;
+            }
+            long now = System.nanoTime();
+            if (deadline == 0L) {
+                deadline = now + TimeUnit.MILLISECONDS.toNanos(captureConfiguration.getBlockTimeoutMillis());
+            } else if (now - deadline > 0) {
+                return -1L;
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+    }
+
+    private void drain() {
+        int drainBatchSize = captureConfiguration.getDrainBatchSize();
+        List<ShortLinkStatsRecordDTO> batch = new ArrayList<>(drainBatchSize);
+        long next = consumed.get() + 1;
+        while (running || next <= claimed.get()) {
+            Slot slot = slots[(int) (next & mask)];
+            if (slot.publishedSequence == next && batch.size() < drainBatchSize) {
+                UserAgentClassifier.UserAgentInfo userAgentInfo = UserAgentClassifier.classify(slot.userAgent);
+                batch.add(ShortLinkStatsRecordDTO.builder()
+                        .fullShortUrl(slot.fullShortUrl)
+                        .remoteAddr(slot.remoteAddr)
+                        .os(userAgentInfo.os())
+                        .browser(userAgentInfo.browser())
+                        .device(userAgentInfo.device())
+                        .network(LinkUtil.getNetwork(slot.remoteAddr))
+                        .uv(slot.uv)
+                        .currentDate(new Date(slot.timestamp))
+                        .build());
+                consumerLagMillis = System.currentTimeMillis() - slot.timestamp;
+                slot.clear();
+                //槽位数据已复制，允许生产者复用
+                consumed.lazySet(next);
+                next++;
+                continue;
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+                batch.clear();
+                continue;
+            }
+            if (!running) {
+                //已领取但尚未发布的序号，等待生产者写完
+                Thread.onSpinWait();
+                continue;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private void send(List<ShortLinkStatsRecordDTO> batch) {
+        try {
+            shortLinkStatsSaveProducer.sendBatch(batch);
+        } catch (Exception ex) {
+            sendFailed.add(batch.size());
+            log.error("短链接访问统计消息发送失败，丢弃事件数：{}", batch.size(), ex);
+        }
+    }
+
+    /**
+     * 可复用的访问槽位
+     */
+    private static final class Slot {
+
+        private String fullShortUrl;
+
+        private String remoteAddr;
+
+        private String userAgent;
+
+        private String uv;
+
+        private long timestamp;
+
+        /**
+         * 槽位当前承载的序号，写入完成后最后发布，对消费线程可见即代表其余字段已写入
+         */
+        private volatile long publishedSequence = -1L;
+
+        private void clear() {
+            fullShortUrl = null;
+            remoteAddr = null;
+            userAgent = null;
+            uv = null;
+        }
+    }
+}
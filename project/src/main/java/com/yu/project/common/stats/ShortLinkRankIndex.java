@@ -0,0 +1,613 @@
+package com.yu.project.common.stats;
+
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yu.project.common.cache.ShortLinkGroupCountCache;
+import com.yu.project.common.convention.exception.ClientException;
+import com.yu.project.dao.entity.ShortLinkDO;
+import com.yu.project.dao.mapper.ShortLinkMapper;
+import com.yu.project.dto.req.ShortLinkPageReqDTO;
+import com.yu.project.dto.resp.ShortLinkCursorPageRespDTO;
+import com.yu.project.toolkit.PageCursor;
+import com.yu.project.toolkit.RedisLuaScript;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.yu.project.common.constant.RedisKeyConstant.LOCK_STATS_RANK_SEED_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_RANK_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_RANK_SEEDED_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_TODAY_RANK_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_TODAY_RANK_SEEDED_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_TOTAL_DELTA_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_TOTAL_FLUSHING_KEY;
+import static com.yu.project.common.constant.ShortLinkConstant.SHORT_LINK_STATS_RANK_ADD_LUA_SCRIPT_PATH;
+import static com.yu.project.common.constant.ShortLinkConstant.SHORT_LINK_STATS_RANK_PAGE_LUA_SCRIPT_PATH;
+import static com.yu.project.common.constant.ShortLinkConstant.SHORT_LINK_STATS_RANK_SEED_LUA_SCRIPT_PATH;
+import static com.yu.project.common.constant.ShortLinkConstant.SHORT_LINK_STATS_RANK_TODAY_SEED_LUA_SCRIPT_PATH;
+
+/**
+ * 短链接分组排行索引
+ * 每个分组按 todayPv、todayUv、todayUip、totalPv、totalUv、totalUip 各维护一个 Redis 有序集合，由访问统计 Lua 脚本增量累加；
+ * 按计数排序的分页请求从有序集合截取当前页的完整短链接，再按分组一次 IN 查询取回短链接，耗时与分组大小无关；
+ * 分组首次按计数排序时在后台线程初始化累计排行，初始化完成前按数据库计数排序；
+ * 停用、删除的短链接通过 {@link #removeLinks(List)} 移出排行，分页时发现的失效成员也会顺带移除
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkRankIndex {
+
+    static final List<String> TODAY_ORDER_TAGS = List.of("todayPv", "todayUv", "todayUip");
+
+    static final List<String> TOTAL_ORDER_TAGS = List.of("totalPv", "totalUv", "totalUip");
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+
+    /**
+     * 累计排行初始化完成标识值，初始化中途失败时下次分页重新初始化
+     */
+    private static final String SEEDED = "done";
+
+    /**
+     * 初始化累计排行时单次扫描的短链接数量
+     */
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    /**
+     * 等待初始化的分组队列容量，队列满时该分组下次分页重新提交
+     */
+    private static final int SEED_QUEUE_CAPACITY = 1024;
+
+    /**
+     * 本地记录当日排行已初始化分组的最大数量
+     */
+    private static final int TODAY_SEEDED_CACHE_SIZE = 10000;
+
+    /**
+     * 当前页存在已失效短链接时重新截取的最大次数
+     */
+    private static final int STALE_REFILL_ATTEMPTS = 3;
+
+    /**
+     * 初始化期间扫描今日无访问短链接时单次读取的短链接数量
+     */
+    private static final int UNVISITED_SCAN_BATCH_SIZE = 200;
+
+    /**
+     * 游标分页第一页的起始分数
+     */
+    private static final String FIRST_PAGE_SCORE = "+inf";
+
+    private static final Map<String, SFunction<ShortLinkDO, Integer>> TOTAL_COLUMNS = Map.of(
+            "totalPv", ShortLinkDO::getTotalPv,
+            "totalUv", ShortLinkDO::getTotalUv,
+            "totalUip", ShortLinkDO::getTotalUip
+    );
+
+    private final RedisLuaScript<Long> seedScript = new RedisLuaScript<>(SHORT_LINK_STATS_RANK_SEED_LUA_SCRIPT_PATH, Long.class);
+
+    private final RedisLuaScript<Long> todaySeedScript = new RedisLuaScript<>(SHORT_LINK_STATS_RANK_TODAY_SEED_LUA_SCRIPT_PATH, Long.class);
+
+    private final RedisLuaScript<Long> addScript = new RedisLuaScript<>(SHORT_LINK_STATS_RANK_ADD_LUA_SCRIPT_PATH, Long.class);
+
+    private final RedisLuaScript<List> pageScript = new RedisLuaScript<>(SHORT_LINK_STATS_RANK_PAGE_LUA_SCRIPT_PATH, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final RedissonClient redissonClient;
+
+    private final ShortLinkMapper shortLinkMapper;
+
+    private final ShortLinkGroupCountCache shortLinkGroupCountCache;
+
+    /**
+     * 正在本节点排队或初始化的分组，避免同一分组重复提交
+     */
+    private final Set<String> seedingGroups = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 本节点已确认完成当日排行初始化的分组与日期，避免每次分页都执行初始化脚本
+     */
+    private final Cache<String, Boolean> todaySeeded = Caffeine.newBuilder()
+            .maximumSize(TODAY_SEEDED_CACHE_SIZE)
+            .expireAfterWrite(1, TimeUnit.DAYS)
+            .build();
+
+    private final ExecutorService seedExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(SEED_QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "short-link_stats-rank-seed");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    @PreDestroy
+    public void shutdown() {
+        seedExecutor.shutdownNow();
+    }
+
+    /**
+     * 是否由排行索引处理该排序标识
+     */
+    public boolean supports(String orderTag) {
+        return TODAY_ORDER_TAGS.contains(orderTag) || TOTAL_ORDER_TAGS.contains(orderTag);
+    }
+
+    /**
+     * 按计数排行分页查询短链接
+     *
+     * @param requestParam 分页请求参数
+     * @return 短链接分页结果，总数取自分组短链接数量缓存，与按创建时间分页一致
+     */
+    public IPage<ShortLinkDO> page(ShortLinkPageReqDTO requestParam) {
+        String gid = requestParam.getGid();
+        String rankKey = prepareRankKey(gid, requestParam.getOrderTag());
+
+        long offset = (requestParam.getCurrent() - 1) * requestParam.getSize();
+        long total = requestParam.getKnownTotal() != null ? requestParam.getKnownTotal() : shortLinkGroupCountCache.count(gid);
+        List<ShortLinkDO> records;
+        if (rankKey != null) {
+            records = rangeInRankOrder(gid, rankKey, offset, requestParam.getSize());
+        } else if (TODAY_ORDER_TAGS.contains(requestParam.getOrderTag())) {
+            records = pageTodayWhileSeeding(gid, requestParam.getOrderTag(), offset, requestParam.getSize());
+        } else {
+            records = shortLinkMapper.selectList(activeLinks(gid)
+                    .orderByDesc(TOTAL_COLUMNS.get(requestParam.getOrderTag()), ShortLinkDO::getFullShortUrl)
+                    .last("LIMIT " + offset + ", " + requestParam.getSize()));
+        }
+
+        Page<ShortLinkDO> resultPage = new Page<>(requestParam.getCurrent(), requestParam.getSize(), total);
+        resultPage.setRecords(records);
+        return resultPage;
+    }
+
+    /**
+     * 按计数排行游标分页查询短链接，续传标识为上一页最后一个成员的（分数、完整短链接）
+     * 下一页从排在该位置之后的成员开始截取，访问计数变化或游标成员被移除都不会导致游标失效
+     *
+     * @param requestParam 分页请求参数
+     * @return 当前页短链接与下一页续传标识
+     */
+    public ShortLinkCursorPageRespDTO<ShortLinkDO> cursorPage(ShortLinkPageReqDTO requestParam) {
+        String gid = requestParam.getGid();
+        String rankKey = prepareRankKey(gid, requestParam.getOrderTag());
+
+        String score = FIRST_PAGE_SCORE;
+        String member = "";
+        if (StrUtil.isNotEmpty(requestParam.getCursor())) {
+            String[] sortKeys = PageCursor.decode(requestParam.getCursor(), 2);
+            score = parseScore(sortKeys[0]);
+            member = sortKeys[1];
+        }
+        long size = requestParam.getSize();
+        List<RankEntry> entries;
+        if (rankKey != null) {
+            entries = rankEntriesAfter(rankKey, score, member, size + 1);
+        } else if (TODAY_ORDER_TAGS.contains(requestParam.getOrderTag())) {
+            entries = todayEntriesWhileSeeding(gid, requestParam.getOrderTag(), score, member, size + 1);
+        } else {
+            entries = totalEntriesWhileSeeding(gid, requestParam.getOrderTag(), score, member, size + 1);
+        }
+        boolean hasMore = entries.size() > size;
+        if (hasMore) {
+            entries = entries.subList(0, (int) size);
+        }
+        RankEntry last = hasMore ? entries.get(entries.size() - 1) : null;
+        return ShortLinkCursorPageRespDTO.<ShortLinkDO>builder()
+                .records(resolveEntries(gid, entries))
+                .nextCursor(last != null ? PageCursor.encode(last.score(), last.member()) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * 新建短链接以 0 分加入所在分组已初始化的排行
+     *
+     * @param shortLinks 新建短链接集合
+     */
+    public void addLinks(List<ShortLinkDO> shortLinks) {
+        if (shortLinks.isEmpty()) {
+            return;
+        }
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        String date = LocalDate.now().format(DATE_FORMATTER);
+        addScript.executePipelined(stringRedisTemplate, connection -> {
+            for (ShortLinkDO each : shortLinks) {
+                String gid = each.getGid();
+                addScript.evalSha(connection, 8,
+                        serializer.serialize(totalRankKey(gid, "totalPv")),
+                        serializer.serialize(totalRankKey(gid, "totalUv")),
+                        serializer.serialize(totalRankKey(gid, "totalUip")),
+                        serializer.serialize(String.format(SHORT_LINK_STATS_RANK_SEEDED_KEY, gid)),
+                        serializer.serialize(todayRankKey(gid, "todayPv", date)),
+                        serializer.serialize(todayRankKey(gid, "todayUv", date)),
+                        serializer.serialize(todayRankKey(gid, "todayUip", date)),
+                        serializer.serialize(String.format(SHORT_LINK_STATS_TODAY_RANK_SEEDED_KEY, gid, date)),
+                        serializer.serialize(each.getFullShortUrl()));
+            }
+        });
+    }
+
+    /**
+     * 将停用、删除或移入回收站的短链接移出所在分组的累计排行与当日排行
+     *
+     * @param shortLinks 停用或删除的短链接集合
+     */
+    public void removeLinks(List<ShortLinkDO> shortLinks) {
+        shortLinks.stream()
+                .collect(Collectors.groupingBy(ShortLinkDO::getGid, Collectors.mapping(ShortLinkDO::getFullShortUrl, Collectors.toList())))
+                .forEach(this::removeMembers);
+    }
+
+    static String totalRankKey(String gid, String orderTag) {
+        return String.format(SHORT_LINK_STATS_RANK_KEY, gid, orderTag);
+    }
+
+    static String todayRankKey(String gid, String orderTag, String date) {
+        return String.format(SHORT_LINK_STATS_TODAY_RANK_KEY, gid, orderTag, date);
+    }
+
+    /**
+     * 返回排序标识对应的排行 Key；分组累计排行尚未初始化时提交异步初始化并返回 null，由调用方回退到数据库排序
+     */
+    private String prepareRankKey(String gid, String orderTag) {
+        if (!ensureSeeded(gid)) {
+            return null;
+        }
+        if (TODAY_ORDER_TAGS.contains(orderTag)) {
+            String date = LocalDate.now().format(DATE_FORMATTER);
+            ensureTodaySeeded(gid, date);
+            return todayRankKey(gid, orderTag, date);
+        }
+        return totalRankKey(gid, orderTag);
+    }
+
+    /**
+     * 分组累计排行是否已初始化，未初始化时提交到初始化线程，请求线程不等待
+     */
+    private boolean ensureSeeded(String gid) {
+        if (Objects.equals(stringRedisTemplate.opsForValue().get(String.format(SHORT_LINK_STATS_RANK_SEEDED_KEY, gid)), SEEDED)) {
+            return true;
+        }
+        if (seedingGroups.add(gid)) {
+            try {
+                seedExecutor.execute(() -> {
+                    try {
+                        seed(gid);
+                    } catch (Exception ex) {
+                        log.error("短链接分组累计排行初始化失败，分组：{}", gid, ex);
+                    } finally {
+                        seedingGroups.remove(gid);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                seedingGroups.remove(gid);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 以数据库累计计数初始化分组累计排行，其他节点正在初始化时直接返回
+     * 先写入初始化标识，之后的访问由统计脚本直接累加；初始化脚本以数据库计数加待落库增量覆盖分数，期间已累加的访问不会重复计算
+     */
+    private void seed(String gid) {
+        String seededKey = String.format(SHORT_LINK_STATS_RANK_SEEDED_KEY, gid);
+        RLock lock = redissonClient.getLock(String.format(LOCK_STATS_RANK_SEED_KEY, gid));
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            if (Objects.equals(stringRedisTemplate.opsForValue().get(seededKey), SEEDED)) {
+                return;
+            }
+            stringRedisTemplate.opsForValue().set(seededKey, "seeding");
+            RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+            byte[][] keys = {
+                    serializer.serialize(totalRankKey(gid, "totalPv")),
+                    serializer.serialize(totalRankKey(gid, "totalUv")),
+                    serializer.serialize(totalRankKey(gid, "totalUip")),
+                    serializer.serialize(String.format(SHORT_LINK_STATS_TOTAL_DELTA_KEY, gid)),
+                    serializer.serialize(String.format(SHORT_LINK_STATS_TOTAL_FLUSHING_KEY, gid))
+            };
+            long lastId = 0L;
+            int seeded = 0;
+            while (true) {
+                List<ShortLinkDO> shortLinks = shortLinkMapper.selectList(activeLinks(gid)
+                        .select(ShortLinkDO::getId, ShortLinkDO::getFullShortUrl, ShortLinkDO::getTotalPv, ShortLinkDO::getTotalUv, ShortLinkDO::getTotalUip)
+                        .gt(ShortLinkDO::getId, lastId)
+                        .orderByAsc(ShortLinkDO::getId)
+                        .last("LIMIT " + SEED_BATCH_SIZE));
+                if (shortLinks.isEmpty()) {
+                    break;
+                }
+                List<byte[]> keysAndArgs = new ArrayList<>(keys.length + shortLinks.size() * 4);
+                Collections.addAll(keysAndArgs, keys);
+                for (ShortLinkDO each : shortLinks) {
+                    keysAndArgs.add(serializer.serialize(each.getFullShortUrl()));
+                    keysAndArgs.add(serializer.serialize(String.valueOf(nullToZero(each.getTotalPv()))));
+                    keysAndArgs.add(serializer.serialize(String.valueOf(nullToZero(each.getTotalUv()))));
+                    keysAndArgs.add(serializer.serialize(String.valueOf(nullToZero(each.getTotalUip()))));
+                }
+                seedScript.executePipelined(stringRedisTemplate, connection ->
+                        seedScript.evalSha(connection, keys.length, keysAndArgs.toArray(new byte[0][])));
+                seeded += shortLinks.size();
+                lastId = shortLinks.get(shortLinks.size() - 1).getId();
+            }
+            stringRedisTemplate.opsForValue().set(seededKey, SEEDED);
+            log.info("短链接分组累计排行初始化完成，分组：{}，短链接数：{}", gid, seeded);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 每天首次按今日计数排序时，将分组全部短链接以 0 分补入当日排行；本节点确认过的分组当天不再执行脚本
+     */
+    private void ensureTodaySeeded(String gid, String date) {
+        String seededKey = String.format(SHORT_LINK_STATS_TODAY_RANK_SEEDED_KEY, gid, date);
+        if (todaySeeded.getIfPresent(seededKey) != null) {
+            return;
+        }
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        byte[] timeout = serializer.serialize(String.valueOf(TimeUnit.DAYS.toSeconds(ShortLinkTodayStatsStore.TODAY_KEY_TIMEOUT_DAYS)));
+        todaySeedScript.executePipelined(stringRedisTemplate, connection -> todaySeedScript.evalSha(connection, 5,
+                serializer.serialize(todayRankKey(gid, "todayPv", date)),
+                serializer.serialize(todayRankKey(gid, "todayUv", date)),
+                serializer.serialize(todayRankKey(gid, "todayUip", date)),
+                serializer.serialize(totalRankKey(gid, "totalPv")),
+                serializer.serialize(seededKey),
+                timeout));
+        todaySeeded.put(seededKey, Boolean.TRUE);
+    }
+
+    /**
+     * 从排行截取游标之后的成员与分数
+     */
+    private List<RankEntry> rankEntriesAfter(String rankKey, String score, String member, long limit) {
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        byte[][] keysAndArgs = {
+                serializer.serialize(rankKey),
+                serializer.serialize(score),
+                serializer.serialize(member),
+                serializer.serialize(String.valueOf(limit))
+        };
+        List<Object> results = pageScript.executePipelined(stringRedisTemplate, connection -> pageScript.evalSha(connection, 1, keysAndArgs));
+        List<?> withScores = (List<?>) results.get(0);
+        List<RankEntry> entries = new ArrayList<>(withScores.size() / 2);
+        for (int i = 0; i + 1 < withScores.size(); i += 2) {
+            entries.add(new RankEntry(withScores.get(i).toString(), withScores.get(i + 1).toString(), null));
+        }
+        return entries;
+    }
+
+    /**
+     * 累计排行初始化期间按数据库累计计数做键集分页，同分按完整短链接倒序，与有序集合的排列规则一致；
+     * 数据库计数不含待落库增量，且字符集排序规则与 Redis 按字节排序存在差异，初始化完成切换到排行时同分区间可能出现少量重复或遗漏
+     */
+    private List<RankEntry> totalEntriesWhileSeeding(String gid, String orderTag, String score, String member, long limit) {
+        SFunction<ShortLinkDO, Integer> column = TOTAL_COLUMNS.get(orderTag);
+        LambdaQueryWrapper<ShortLinkDO> queryWrapper = activeLinks(gid);
+        if (!FIRST_PAGE_SCORE.equals(score)) {
+            BigDecimal anchor = new BigDecimal(score);
+            queryWrapper.and(wrapper -> wrapper.lt(column, anchor)
+                    .or(each -> each.eq(column, anchor).lt(ShortLinkDO::getFullShortUrl, member)));
+        }
+        queryWrapper.orderByDesc(column, ShortLinkDO::getFullShortUrl).last("LIMIT " + limit);
+        return shortLinkMapper.selectList(queryWrapper).stream()
+                .map(each -> new RankEntry(each.getFullShortUrl(), String.valueOf(nullToZero(column.apply(each))), each))
+                .toList();
+    }
+
+    /**
+     * 累计排行初始化期间当日排行只包含今日有访问的短链接，先按当日排行截取，
+     * 之后按完整短链接倒序从数据库补充今日无访问的短链接，排列规则与当日排行初始化后一致
+     */
+    private List<ShortLinkDO> pageTodayWhileSeeding(String gid, String orderTag, long offset, long size) {
+        String todayKey = todayRankKey(gid, orderTag, LocalDate.now().format(DATE_FORMATTER));
+        long visitedCount = countVisitedToday(todayKey);
+        List<ShortLinkDO> records = new ArrayList<>();
+        long visitedEnd = Math.min(offset + size, visitedCount);
+        if (offset < visitedEnd) {
+            Set<String> members = stringRedisTemplate.opsForZSet().reverseRange(todayKey, offset, visitedEnd - 1);
+            if (members != null && !members.isEmpty()) {
+                records.addAll(listInRankOrder(gid, members));
+            }
+        }
+        long remaining = size - Math.max(0L, visitedEnd - offset);
+        if (remaining > 0) {
+            records.addAll(listUnvisitedToday(gid, todayKey, null, Math.max(0L, offset - visitedCount), remaining));
+        }
+        return records;
+    }
+
+    private List<RankEntry> todayEntriesWhileSeeding(String gid, String orderTag, String score, String member, long limit) {
+        String todayKey = todayRankKey(gid, orderTag, LocalDate.now().format(DATE_FORMATTER));
+        List<RankEntry> entries = new ArrayList<>(rankEntriesAfter(todayKey, score, member, limit).stream()
+                .filter(each -> Double.parseDouble(each.score()) > 0)
+                .toList());
+        if (entries.size() < limit) {
+            boolean zeroAnchor = !FIRST_PAGE_SCORE.equals(score) && Double.parseDouble(score) == 0;
+            listUnvisitedToday(gid, todayKey, zeroAnchor ? member : null, 0L, limit - entries.size())
+                    .forEach(each -> entries.add(new RankEntry(each.getFullShortUrl(), "0", each)));
+        }
+        return entries;
+    }
+
+    /**
+     * 当日排行中今日有访问（分数不小于 1）的成员数
+     */
+    private long countVisitedToday(String todayKey) {
+        Long visited = stringRedisTemplate.opsForZSet().count(todayKey, 1, Double.POSITIVE_INFINITY);
+        return visited == null ? 0L : visited;
+    }
+
+    /**
+     * 按完整短链接倒序扫描今日无访问的短链接：数据库按完整短链接键集分批读取，每批以管道 ZSCORE 过滤当日排行中已有访问的成员，
+     * 内存与 SQL 长度只与批次大小有关，不随分组当日活跃短链接数增长
+     *
+     * @param after 从该完整短链接之后开始扫描，为空时从头开始
+     * @param skip  跳过的无访问短链接数
+     * @param limit 返回数量
+     */
+    private List<ShortLinkDO> listUnvisitedToday(String gid, String todayKey, String after, long skip, long limit) {
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        byte[] rawKey = serializer.serialize(todayKey);
+        List<ShortLinkDO> records = new ArrayList<>((int) limit);
+        String cursor = after;
+        long skipped = 0L;
+        while (records.size() < limit) {
+            List<ShortLinkDO> batch = shortLinkMapper.selectList(activeLinks(gid)
+                    .lt(cursor != null, ShortLinkDO::getFullShortUrl, cursor)
+                    .orderByDesc(ShortLinkDO::getFullShortUrl)
+                    .last("LIMIT " + UNVISITED_SCAN_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Object> scores = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                batch.forEach(each -> connection.zSetCommands().zScore(rawKey, serializer.serialize(each.getFullShortUrl())));
+                return null;
+            });
+            for (int i = 0; i < batch.size() && records.size() < limit; i++) {
+                if (scores.get(i) instanceof Double visited && visited > 0) {
+                    continue;
+                }
+                if (skipped < skip) {
+                    skipped++;
+                    continue;
+                }
+                records.add(batch.get(i));
+            }
+            cursor = batch.get(batch.size() - 1).getFullShortUrl();
+        }
+        return records;
+    }
+
+    /**
+     * 按条目顺序返回游标分页的短链接，排行条目一次查询取回，数据库回退条目直接使用
+     */
+    private List<ShortLinkDO> resolveEntries(String gid, List<RankEntry> entries) {
+        List<String> unresolved = entries.stream().filter(each -> each.shortLink() == null).map(RankEntry::member).toList();
+        Map<String, ShortLinkDO> resolved = unresolved.isEmpty()
+                ? Collections.emptyMap()
+                : listInRankOrder(gid, unresolved).stream().collect(Collectors.toMap(ShortLinkDO::getFullShortUrl, Function.identity()));
+        List<ShortLinkDO> records = new ArrayList<>(entries.size());
+        for (RankEntry each : entries) {
+            ShortLinkDO shortLinkDO = each.shortLink() != null ? each.shortLink() : resolved.get(each.member());
+            if (shortLinkDO != null) {
+                records.add(shortLinkDO);
+            }
+        }
+        return records;
+    }
+
+    private static LambdaQueryWrapper<ShortLinkDO> activeLinks(String gid) {
+        return Wrappers.lambdaQuery(ShortLinkDO.class)
+                .eq(ShortLinkDO::getGid, gid)
+                .eq(ShortLinkDO::getEnableStatus, 0)
+                .eq(ShortLinkDO::getDelFlag, 0);
+    }
+
+    /**
+     * 截取排行中指定区间的短链接；区间内存在已删除或停用的短链接时将其移出排行后重新截取，保证返回完整一页
+     */
+    private List<ShortLinkDO> rangeInRankOrder(String gid, String rankKey, long offset, long size) {
+        List<ShortLinkDO> records = Collections.emptyList();
+        for (int attempt = 0; attempt < STALE_REFILL_ATTEMPTS; attempt++) {
+            Set<String> members = stringRedisTemplate.opsForZSet().reverseRange(rankKey, offset, offset + size - 1);
+            if (members == null || members.isEmpty()) {
+                return records;
+            }
+            records = listInRankOrder(gid, members);
+            if (records.size() == members.size()) {
+                return records;
+            }
+        }
+        return records;
+    }
+
+    /**
+     * 按分组一次查询取回当前页短链接，并按排行顺序排列；已删除或停用的短链接跳过并移出排行
+     */
+    private List<ShortLinkDO> listInRankOrder(String gid, Collection<String> members) {
+        Map<String, ShortLinkDO> shortLinks = shortLinkMapper.selectList(activeLinks(gid).in(ShortLinkDO::getFullShortUrl, members))
+                .stream()
+                .collect(Collectors.toMap(ShortLinkDO::getFullShortUrl, Function.identity(), (first, second) -> first));
+        List<ShortLinkDO> records = new ArrayList<>(members.size());
+        List<String> stale = new ArrayList<>();
+        for (String each : members) {
+            ShortLinkDO shortLinkDO = shortLinks.get(each);
+            if (shortLinkDO != null) {
+                records.add(shortLinkDO);
+            } else {
+                stale.add(each);
+            }
+        }
+        if (!stale.isEmpty()) {
+            removeMembers(gid, stale);
+        }
+        return records;
+    }
+
+    private void removeMembers(String gid, List<String> fullShortUrls) {
+        String date = LocalDate.now().format(DATE_FORMATTER);
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        byte[][] values = fullShortUrls.stream().map(serializer::serialize).toArray(byte[][]::new);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            TOTAL_ORDER_TAGS.forEach(each -> connection.zSetCommands().zRem(serializer.serialize(totalRankKey(gid, each)), values));
+            TODAY_ORDER_TAGS.forEach(each -> connection.zSetCommands().zRem(serializer.serialize(todayRankKey(gid, each, date)), values));
+            return null;
+        });
+    }
+
+    private static String parseScore(String score) {
+        try {
+            Double.parseDouble(score);
+            return score;
+        } catch (NumberFormatException ex) {
+            throw new ClientException("分页游标无效");
+        }
+    }
+
+    private static int nullToZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * 游标分页条目，数据库回退分页时携带已查询的短链接
+     */
+    private record RankEntry(String member, String score, ShortLinkDO shortLink) {
+    }
+}
@@ -0,0 +1,344 @@
+package com.yu.project.common.stats;
+
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.date.DateUtil;
+import com.yu.project.common.ip.IpLocation;
+import com.yu.project.config.ShortLinkStatsAggregateConfiguration;
+import com.yu.project.dao.entity.LinkAccessStatsDO;
+import com.yu.project.dao.entity.LinkBrowserStatsDO;
+import com.yu.project.dao.entity.LinkDeviceStatsDO;
+import com.yu.project.dao.entity.LinkLocaleStatsDO;
+import com.yu.project.dao.entity.LinkNetworkStatsDO;
+import com.yu.project.dao.entity.LinkOsStatsDO;
+import com.yu.project.dao.mapper.LinkAccessStatsMapper;
+import com.yu.project.dao.mapper.LinkBrowserStatsMapper;
+import com.yu.project.dao.mapper.LinkDeviceStatsMapper;
+import com.yu.project.dao.mapper.LinkLocaleStatsMapper;
+import com.yu.project.dao.mapper.LinkNetworkStatsMapper;
+import com.yu.project.dao.mapper.LinkOsStatsMapper;
+import com.yu.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.yu.project.dto.resp.ShortLinkStatsAggregateMetricsRespDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 短链接访问统计内存预聚合
+ * 各统计维度按（完整短链接、日期、小时、维度值）聚合在分段计数器中，定时或超过内存上限时整体切换缓冲区，
+ * 旧缓冲区以多值 INSERT ... ON DUPLICATE KEY UPDATE 批量累加写入各统计表，应用关闭前再落库一次
+ * 注意：访问事件累加进缓冲区后对应的 Stream 消息即被确认，落库前统计只存在于本节点内存中，
+ * 节点宕机会丢失最近一个落库间隔（默认 5 秒）内的统计；落库失败时计数合并回当前缓冲区，超过行数上限的部分被丢弃并计入指标
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsAggregator {
+
+    /**
+     * 单条批量写入 SQL 的最大行数
+     */
+    private static final int UPSERT_BATCH_SIZE = 500;
+
+    /**
+     * 地区维度值分隔符
+     */
+    private static final String VALUE_SEPARATOR = "\u0001";
+
+    private final ShortLinkStatsAggregateConfiguration aggregateConfiguration;
+
+    private final LinkAccessStatsMapper linkAccessStatsMapper;
+
+    private final LinkBrowserStatsMapper linkBrowserStatsMapper;
+
+    private final LinkOsStatsMapper linkOsStatsMapper;
+
+    private final LinkDeviceStatsMapper linkDeviceStatsMapper;
+
+    private final LinkNetworkStatsMapper linkNetworkStatsMapper;
+
+    private final LinkLocaleStatsMapper linkLocaleStatsMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+
+    private volatile Buffer current = new Buffer();
+
+    private final LongAdder flushFailed = new LongAdder();
+
+    private final LongAdder droppedRows = new LongAdder();
+
+    private final LongAdder droppedPv = new LongAdder();
+
+    /**
+     * 累加一次访问的各维度统计
+     *
+     * @param statsRecord 已补全分组标识与新访客标识的访问事件
+     * @param location    访问地区
+     */
+    public void add(ShortLinkStatsRecordDTO statsRecord, IpLocation location) {
+        Date currentDate = statsRecord.getCurrentDate();
+        long date = DateUtil.beginOfDay(currentDate).getTime();
+        int hour = DateUtil.hour(currentDate, true);
+        long uv = Boolean.TRUE.equals(statsRecord.getUvFirstFlag()) ? 1L : 0L;
+        long uip = Boolean.TRUE.equals(statsRecord.getUipFirstFlag()) ? 1L : 0L;
+        String fullShortUrl = statsRecord.getFullShortUrl();
+        String gid = statsRecord.getGid();
+        String localeValue = String.join(VALUE_SEPARATOR,
+                String.valueOf(location.province()), String.valueOf(location.city()), String.valueOf(location.adcode()), String.valueOf(location.country()));
+
+        Buffer buffer = acquire();
+        try {
+            buffer.add(new StatsKey(Dimension.ACCESS, fullShortUrl, gid, date, hour, null), 1L, uv, uip);
+            buffer.add(new StatsKey(Dimension.BROWSER, fullShortUrl, gid, date, -1, statsRecord.getBrowser()), 1L, 0L, 0L);
+            buffer.add(new StatsKey(Dimension.OS, fullShortUrl, gid, date, -1, statsRecord.getOs()), 1L, 0L, 0L);
+            buffer.add(new StatsKey(Dimension.DEVICE, fullShortUrl, gid, date, -1, statsRecord.getDevice()), 1L, 0L, 0L);
+            buffer.add(new StatsKey(Dimension.NETWORK, fullShortUrl, gid, date, -1, statsRecord.getNetwork()), 1L, 0L, 0L);
+            buffer.add(new StatsKey(Dimension.LOCALE, fullShortUrl, gid, date, -1, localeValue), 1L, 0L, 0L);
+        } finally {
+            buffer.writers.decrement();
+        }
+
+        //超过内存上限时不等定时任务，由当前线程提前落库
+        if (buffer.size.get() >= aggregateConfiguration.getMaxEntries() && earlyFlushScheduled.compareAndSet(false, true)) {
+            try {
+                flush();
+            } finally {
+                earlyFlushScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * 当前缓冲区中的统计行数
+     */
+    public int size() {
+        return current.size.get();
+    }
+
+    /**
+     * 预聚合缓冲区指标
+     */
+    public ShortLinkStatsAggregateMetricsRespDTO metrics() {
+        return ShortLinkStatsAggregateMetricsRespDTO.builder()
+                .entries(current.size.get())
+                .maxEntries(aggregateConfiguration.getMaxEntries())
+                .flushFailed(flushFailed.sum())
+                .droppedRows(droppedRows.sum())
+                .droppedPv(droppedPv.sum())
+                .build();
+    }
+
+    /**
+     * 定时落库
+     */
+    @Scheduled(fixedDelayString = "${short-link.stats.aggregate.flush-interval:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * 应用关闭前落库
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 切换缓冲区，等待旧缓冲区上的写入全部结束后批量落库；落库失败时计数在行数上限内合并回当前缓冲区等待下次重试
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Buffer sealed = current;
+            if (sealed.counters.isEmpty()) {
+                return;
+            }
+            current = new Buffer();
+            sealed.sealed = true;
+            while (sealed.writers.sum() > 0) {
+                Thread.onSpinWait();
+            }
+            try {
+                write(sealed);
+            } catch (Exception ex) {
+                flushFailed.increment();
+                log.error("短链接访问统计落库失败，{} 行统计将在下次落库时重试", sealed.counters.size(), ex);
+                mergeBack(sealed);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 将落库失败的计数合并回当前缓冲区；当前缓冲区已有的统计行直接累加，新增统计行达到上限后丢弃，避免数据库持续不可用时缓冲区无限增长
+     */
+    private void mergeBack(Buffer sealed) {
+        int maxEntries = aggregateConfiguration.getMaxEntries();
+        long rows = 0L;
+        long pv = 0L;
+        Buffer retry = acquire();
+        try {
+            for (Map.Entry<StatsKey, Counter> entry : sealed.counters.entrySet()) {
+                StatsKey key = entry.getKey();
+                Counter counter = entry.getValue();
+                if (retry.size.get() >= maxEntries && !retry.counters.containsKey(key)) {
+                    rows++;
+                    pv += counter.pv.sum();
+                    continue;
+                }
+                retry.add(key, counter.pv.sum(), counter.uv.sum(), counter.uip.sum());
+            }
+        } finally {
+            retry.writers.decrement();
+        }
+        if (rows > 0) {
+            droppedRows.add(rows);
+            droppedPv.add(pv);
+            log.error("短链接访问统计缓冲区超过上限 {} 行，丢弃 {} 行统计，共 {} 次访问", maxEntries, rows, pv);
+        }
+    }
+
+    /**
+     * 登记为当前缓冲区的写入方；缓冲区已被切换时重新获取
+     */
+    private Buffer acquire() {
+        while (true) {
+            Buffer buffer = current;
+            buffer.writers.increment();
+            if (!buffer.sealed) {
+                return buffer;
+            }
+            buffer.writers.decrement();
+        }
+    }
+
+    private void write(Buffer buffer) {
+        List<LinkAccessStatsDO> accessStats = new ArrayList<>();
+        List<LinkBrowserStatsDO> browserStats = new ArrayList<>();
+        List<LinkOsStatsDO> osStats = new ArrayList<>();
+        List<LinkDeviceStatsDO> deviceStats = new ArrayList<>();
+        List<LinkNetworkStatsDO> networkStats = new ArrayList<>();
+        List<LinkLocaleStatsDO> localeStats = new ArrayList<>();
+        for (Map.Entry<StatsKey, Counter> entry : buffer.counters.entrySet()) {
+            StatsKey key = entry.getKey();
+            Counter counter = entry.getValue();
+            Date date = new Date(key.date());
+            int pv = (int) counter.pv.sum();
+            switch (key.dimension()) {
+                case ACCESS -> accessStats.add(LinkAccessStatsDO.builder()
+                        .fullShortUrl(key.fullShortUrl())
+                        .gid(key.gid())
+                        .date(date)
+                        .hour(key.hour())
+                        .weekday(DateUtil.dayOfWeekEnum(date).getIso8601Value())
+                        .pv(pv)
+                        .uv((int) counter.uv.sum())
+                        .uip((int) counter.uip.sum())
+                        .build());
+                case BROWSER -> browserStats.add(LinkBrowserStatsDO.builder()
+                        .fullShortUrl(key.fullShortUrl()).gid(key.gid()).date(date).browser(key.value()).cnt(pv).build());
+                case OS -> osStats.add(LinkOsStatsDO.builder()
+                        .fullShortUrl(key.fullShortUrl()).gid(key.gid()).date(date).os(key.value()).cnt(pv).build());
+                case DEVICE -> deviceStats.add(LinkDeviceStatsDO.builder()
+                        .fullShortUrl(key.fullShortUrl()).gid(key.gid()).date(date).device(key.value()).cnt(pv).build());
+                case NETWORK -> networkStats.add(LinkNetworkStatsDO.builder()
+                        .fullShortUrl(key.fullShortUrl()).gid(key.gid()).date(date).network(key.value()).cnt(pv).build());
+                case LOCALE -> {
+                    String[] values = key.value().split(VALUE_SEPARATOR, -1);
+                    localeStats.add(LinkLocaleStatsDO.builder()
+                            .fullShortUrl(key.fullShortUrl()).gid(key.gid()).date(date).cnt(pv)
+                            .province(values[0]).city(values[1]).adcode(values[2]).country(values[3])
+                            .build());
+                }
+            }
+        }
+        long start = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            upsert(accessStats, linkAccessStatsMapper::shortLinkStatsBatch);
+            upsert(browserStats, linkBrowserStatsMapper::shortLinkStatsBatch);
+            upsert(osStats, linkOsStatsMapper::shortLinkStatsBatch);
+            upsert(deviceStats, linkDeviceStatsMapper::shortLinkStatsBatch);
+            upsert(networkStats, linkNetworkStatsMapper::shortLinkStatsBatch);
+            upsert(localeStats, linkLocaleStatsMapper::shortLinkStatsBatch);
+        });
+        log.debug("短链接访问统计落库完成，统计行数：{}，耗时：{} ms", buffer.counters.size(), System.currentTimeMillis() - start);
+    }
+
+    private static <T> void upsert(List<T> rows, Consumer<List<T>> batchWriter) {
+        for (List<T> batch : ListUtil.partition(rows, UPSERT_BATCH_SIZE)) {
+            batchWriter.accept(batch);
+        }
+    }
+
+    private enum Dimension {
+        ACCESS, BROWSER, OS, DEVICE, NETWORK, LOCALE
+    }
+
+    /**
+     * 统计行唯一标识，与统计表唯一索引一致
+     */
+    private record StatsKey(Dimension dimension, String fullShortUrl, String gid, long date, int hour, String value) {
+    }
+
+    /**
+     * 统计计数，非基础访问维度只使用 pv 作为访问次数
+     */
+    private static final class Counter {
+
+        private final LongAdder pv = new LongAdder();
+
+        private final LongAdder uv = new LongAdder();
+
+        private final LongAdder uip = new LongAdder();
+    }
+
+    private static final class Buffer {
+
+        private final ConcurrentHashMap<StatsKey, Counter> counters = new ConcurrentHashMap<>();
+
+        private final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * 正在写入该缓冲区的线程数
+         */
+        private final LongAdder writers = new LongAdder();
+
+        private volatile boolean sealed;
+
+        private void add(StatsKey key, long pv, long uv, long uip) {
+            Counter counter = counters.get(key);
+            if (counter == null) {
+                counter = counters.computeIfAbsent(key, each -> {
+                    size.incrementAndGet();
+                    return new Counter();
+                });
+            }
+            counter.pv.add(pv);
+            if (uv != 0) {
+                counter.uv.add(uv);
+            }
+            if (uip != 0) {
+                counter.uip.add(uip);
+            }
+        }
+    }
+}
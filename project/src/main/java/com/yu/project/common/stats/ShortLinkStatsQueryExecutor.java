@@ -0,0 +1,153 @@
+package com.yu.project.common.stats;
+
+import com.yu.project.common.database.QueryTimeoutInterceptor;
+import com.yu.project.config.ShortLinkStatsQueryConfiguration;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 短链接监控维度查询执行器
+ * 各监控维度查询相互独立，在专用的有界线程池中并发执行，单个维度超时、失败或被拒绝时返回 null，
+ * 其余维度照常返回；超时通过 JDBC 语句超时取消仍在执行的 SQL，排队超时的维度不再执行，慢查询不会长期占满线程池；
+ * 每次查询结束后输出各维度耗时，便于定位慢查询
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsQueryExecutor {
+
+    private final ShortLinkStatsQueryConfiguration queryConfiguration;
+
+    private ThreadPoolExecutor queryExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        queryExecutor = new ThreadPoolExecutor(
+                queryConfiguration.getConcurrency(),
+                queryConfiguration.getConcurrency(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queryConfiguration.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "short-link_stats-query_" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        queryExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queryExecutor.shutdownNow();
+    }
+
+    /**
+     * 开始一次多维度查询
+     *
+     * @param name 查询名称，输出耗时日志时使用
+     * @return 本次查询的维度提交入口
+     */
+    public Fanout fanout(String name) {
+        return new Fanout(name);
+    }
+
+    /**
+     * 一次多维度查询，提交全部维度后调用 {@link #await()} 等待各维度完成或超时
+     */
+    public class Fanout {
+
+        private final String name;
+
+        private final long startNanos = System.nanoTime();
+
+        private final List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        private final Map<String, String> latencies = new ConcurrentHashMap<>();
+
+        private Fanout(String name) {
+            this.name = name;
+        }
+
+        /**
+         * 提交维度查询
+         *
+         * @param dimension 维度名称
+         * @param query     维度查询
+         * @return 查询结果，超时、失败或被拒绝时为 null
+         */
+        public <T> CompletableFuture<T> submit(String dimension, Supplier<T> query) {
+            long submitNanos = System.nanoTime();
+            long deadlineNanos = submitNanos + TimeUnit.MILLISECONDS.toNanos(queryConfiguration.getTimeoutMillis());
+            CompletableFuture<T> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> {
+                    if (System.nanoTime() >= deadlineNanos) {
+                        throw new CompletionException(new TimeoutException());
+                    }
+                    return QueryTimeoutInterceptor.callWithDeadline(deadlineNanos, query);
+                }, queryExecutor);
+            } catch (RejectedExecutionException ex) {
+                latencies.put(dimension, "rejected");
+                future = CompletableFuture.completedFuture(null);
+                futures.add(future);
+                return future;
+            }
+            future = future
+                    .orTimeout(queryConfiguration.getTimeoutMillis(), TimeUnit.MILLISECONDS)
+                    .handle((result, ex) -> {
+                        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitNanos);
+                        if (ex == null) {
+                            latencies.put(dimension, elapsedMillis + "ms");
+                            return result;
+                        }
+                        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                        if (cause instanceof TimeoutException) {
+                            latencies.put(dimension, "timeout");
+                        } else {
+                            latencies.put(dimension, "failed");
+                            log.error("短链接监控查询 {} 维度 {} 执行失败", name, dimension, cause);
+                        }
+                        return null;
+                    });
+            futures.add(future);
+            return future;
+        }
+
+        /**
+         * 等待全部维度完成或超时，并输出各维度耗时
+         */
+        public void await() {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            String detail = latencies.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(each -> each.getKey() + "=" + each.getValue())
+                    .collect(Collectors.joining(", "));
+            if (latencies.values().stream().anyMatch(each -> !each.endsWith("ms"))) {
+                log.warn("短链接监控查询 {} 部分维度未返回，总耗时 {}ms：{}", name, elapsedMillis, detail);
+            } else {
+                log.info("短链接监控查询 {} 总耗时 {}ms：{}", name, elapsedMillis, detail);
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.yu.project.common.stats;
+
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.date.DateUtil;
+import com.yu.project.config.ShortLinkStatsTodayConfiguration;
+import com.yu.project.dao.entity.LinkStatsTodayDO;
+import com.yu.project.dao.entity.ShortLinkDO;
+import com.yu.project.dao.mapper.LinkStatsTodayMapper;
+import com.yu.project.dto.biz.ShortLinkStatsRecordDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.yu.project.common.constant.RedisKeyConstant.LOCK_STATS_TODAY_COMPACT_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_TODAY_GIDS_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_TODAY_KEY;
+
+/**
+ * 短链接当日访问计数存储
+ * 当日 PV、UV、UIP 由访问统计 Lua 脚本累加在 Redis 分组当日 Hash 中，分页查询一次 HMGET 补全当前页，
+ * 每日凌晨将前一日的计数归档到 t_link_stats_today
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkTodayStatsStore {
+
+    /**
+     * 当日计数过期天数，保留到次日归档完成之后
+     */
+    static final long TODAY_KEY_TIMEOUT_DAYS = 3L;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String[] FIELD_SUFFIXES = {":pv", ":uv", ":uip"};
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final RedissonClient redissonClient;
+
+    private final LinkStatsTodayMapper linkStatsTodayMapper;
+
+    private final ShortLinkStatsTodayConfiguration todayConfiguration;
+
+    /**
+     * 登记当日存在访问的分组，供归档时遍历
+     *
+     * @param records 已补全分组标识的访问统计事件集合
+     */
+    public void markActive(List<ShortLinkStatsRecordDTO> records) {
+        Set<String> keys = new LinkedHashSet<>();
+        Map<String, Set<String>> activeGids = new LinkedHashMap<>();
+        for (ShortLinkStatsRecordDTO each : records) {
+            String key = String.format(SHORT_LINK_STATS_TODAY_GIDS_KEY, DateUtil.toLocalDateTime(each.getCurrentDate()).toLocalDate().format(DATE_FORMATTER));
+            activeGids.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(each.getGid());
+            keys.add(key);
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        long timeoutSeconds = TimeUnit.DAYS.toSeconds(TODAY_KEY_TIMEOUT_DAYS);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String each : keys) {
+                byte[] rawKey = serializer.serialize(each);
+                connection.setCommands().sAdd(rawKey, activeGids.get(each).stream().map(serializer::serialize).toArray(byte[][]::new));
+                connection.keyCommands().expire(rawKey, timeoutSeconds);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 使用 Redis 当日计数补全同一分组短链接的今日 PV、UV、UIP
+     *
+     * @param gid        分组标识
+     * @param shortLinks 分页查询出的短链接
+     */
+    public void fillToday(String gid, List<ShortLinkDO> shortLinks) {
+        if (shortLinks.isEmpty()) {
+            return;
+        }
+        List<Object> fields = new ArrayList<>(shortLinks.size() * FIELD_SUFFIXES.length);
+        for (ShortLinkDO each : shortLinks) {
+            for (String suffix : FIELD_SUFFIXES) {
+                fields.add(each.getFullShortUrl() + suffix);
+            }
+        }
+        String key = String.format(SHORT_LINK_STATS_TODAY_KEY, gid, LocalDate.now().format(DATE_FORMATTER));
+        List<Object> values = stringRedisTemplate.opsForHash().multiGet(key, fields);
+        for (int i = 0; i < shortLinks.size(); i++) {
+            ShortLinkDO each = shortLinks.get(i);
+            int offset = i * FIELD_SUFFIXES.length;
+            each.setTodayPv(parseCount(values.get(offset)));
+            each.setTodayUv(parseCount(values.get(offset + 1)));
+            each.setTodayUip(parseCount(values.get(offset + 2)));
+        }
+    }
+
+    /**
+     * 定时归档前一日计数
+     */
+    @Scheduled(cron = "${short-link.stats.today.compact-cron:0 10 0 * * ?}")
+    public void compactYesterday() {
+        compact(LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * 将指定日期的 Redis 计数归档到 t_link_stats_today，归档值覆盖已有记录，重复执行结果一致
+     *
+     * @param date 归档日期
+     */
+    public void compact(LocalDate date) {
+        String formatted = date.format(DATE_FORMATTER);
+        RLock lock = redissonClient.getLock(String.format(LOCK_STATS_TODAY_COMPACT_KEY, formatted));
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            Set<String> gids = stringRedisTemplate.opsForSet().members(String.format(SHORT_LINK_STATS_TODAY_GIDS_KEY, formatted));
+            if (gids == null || gids.isEmpty()) {
+                return;
+            }
+            Date statsDate = Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+            int rows = 0;
+            for (String gid : gids) {
+                List<LinkStatsTodayDO> todayStats = parseTodayStats(gid, statsDate,
+                        stringRedisTemplate.opsForHash().entries(String.format(SHORT_LINK_STATS_TODAY_KEY, gid, formatted)));
+                for (List<LinkStatsTodayDO> batch : ListUtil.partition(todayStats, todayConfiguration.getCompactBatchSize())) {
+                    linkStatsTodayMapper.compactStatsBatch(batch);
+                }
+                rows += todayStats.size();
+            }
+            log.info("短链接当日访问计数归档完成，日期：{}，分组数：{}，短链接数：{}", formatted, gids.size(), rows);
+        } catch (Throwable ex) {
+            log.error("短链接当日访问计数归档失败，日期：{}", formatted, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<LinkStatsTodayDO> parseTodayStats(String gid, Date statsDate, Map<Object, Object> entries) {
+        Map<String, LinkStatsTodayDO> todayStats = new LinkedHashMap<>();
+        entries.forEach((field, value) -> {
+            String fieldName = field.toString();
+            int separator = fieldName.lastIndexOf(':');
+            LinkStatsTodayDO stats = todayStats.computeIfAbsent(fieldName.substring(0, separator), key -> LinkStatsTodayDO.builder()
+                    .gid(gid)
+                    .fullShortUrl(key)
+                    .date(statsDate)
+                    .todayPv(0)
+                    .todayUv(0)
+                    .todayUip(0)
+                    .build());
+            int count = parseCount(value);
+            switch (fieldName.substring(separator + 1)) {
+                case "pv" -> stats.setTodayPv(count);
+                case "uv" -> stats.setTodayUv(count);
+                case "uip" -> stats.setTodayUip(count);
+                default -> {
+                }
+            }
+        });
+        return new ArrayList<>(todayStats.values());
+    }
+
+    private static int parseCount(Object value) {
+        return value == null ? 0 : Integer.parseInt(value.toString());
+    }
+}
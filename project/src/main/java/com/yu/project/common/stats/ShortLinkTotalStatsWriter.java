@@ -0,0 +1,207 @@
+package com.yu.project.common.stats;
+
+import cn.hutool.core.collection.ListUtil;
+import com.yu.project.config.ShortLinkStatsTotalConfiguration;
+import com.yu.project.dao.entity.ShortLinkDO;
+import com.yu.project.dao.mapper.ShortLinkMapper;
+import com.yu.project.toolkit.RedisLuaScript;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.yu.project.common.constant.RedisKeyConstant.LOCK_STATS_TOTAL_FLUSH_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_TOTAL_DELTA_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_TOTAL_DIRTY_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_TOTAL_FLUSHING_KEY;
+import static com.yu.project.common.constant.ShortLinkConstant.SHORT_LINK_STATS_TOTAL_TAKE_LUA_SCRIPT_PATH;
+
+/**
+ * 短链接累计访问计数延迟落库
+ * 每次访问只在 Redis 分组增量 Hash 中累加，避免热点短链接在 t_link 同一行上排队等待行锁；
+ * 定时任务逐个分组原子取出增量，以一条按分组路由的批量 UPDATE ... SET total_pv = total_pv + ? 写回，分页查询时合并尚未落库的增量
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkTotalStatsWriter {
+
+    /**
+     * 单次从待落库集合中取出的分组数量
+     */
+    private static final int DIRTY_GID_POP_SIZE = 100;
+
+    private static final String[] FIELD_SUFFIXES = {":pv", ":uv", ":uip"};
+
+    private final RedisLuaScript<List> takeScript = new RedisLuaScript<>(SHORT_LINK_STATS_TOTAL_TAKE_LUA_SCRIPT_PATH, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final RedissonClient redissonClient;
+
+    private final ShortLinkMapper shortLinkMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ShortLinkStatsTotalConfiguration totalConfiguration;
+
+    /**
+     * 登记存在待落库增量的分组
+     *
+     * @param gids 分组标识集合
+     */
+    public void markDirty(Collection<String> gids) {
+        if (!gids.isEmpty()) {
+            stringRedisTemplate.opsForSet().add(SHORT_LINK_STATS_TOTAL_DIRTY_KEY, gids.toArray(new String[0]));
+        }
+    }
+
+    /**
+     * 将尚未落库的累计计数增量合并到同一分组的短链接上
+     *
+     * @param gid        分组标识
+     * @param shortLinks 分页查询出的短链接
+     */
+    public void mergePending(String gid, List<ShortLinkDO> shortLinks) {
+        if (shortLinks.isEmpty()) {
+            return;
+        }
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        byte[][] fields = new byte[shortLinks.size() * FIELD_SUFFIXES.length][];
+        for (int i = 0; i < shortLinks.size(); i++) {
+            for (int j = 0; j < FIELD_SUFFIXES.length; j++) {
+                fields[i * FIELD_SUFFIXES.length + j] = serializer.serialize(shortLinks.get(i).getFullShortUrl() + FIELD_SUFFIXES[j]);
+            }
+        }
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hMGet(serializer.serialize(String.format(SHORT_LINK_STATS_TOTAL_DELTA_KEY, gid)), fields);
+            connection.hashCommands().hMGet(serializer.serialize(String.format(SHORT_LINK_STATS_TOTAL_FLUSHING_KEY, gid)), fields);
+            return null;
+        });
+        for (int i = 0; i < shortLinks.size(); i++) {
+            ShortLinkDO each = shortLinks.get(i);
+            int offset = i * FIELD_SUFFIXES.length;
+            each.setTotalPv(nullToZero(each.getTotalPv()) + pendingDelta(results, offset));
+            each.setTotalUv(nullToZero(each.getTotalUv()) + pendingDelta(results, offset + 1));
+            each.setTotalUip(nullToZero(each.getTotalUip()) + pendingDelta(results, offset + 2));
+        }
+    }
+
+    /**
+     * 定时落库
+     */
+    @Scheduled(fixedDelayString = "${short-link.stats.total.flush-interval:10000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * 应用关闭前落库
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 逐个分组写回累计计数增量，集群内同一时刻只有一个节点落库
+     */
+    public void flush() {
+        RLock lock = redissonClient.getLock(LOCK_STATS_TOTAL_FLUSH_KEY);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            List<String> gids;
+            while (!(gids = stringRedisTemplate.opsForSet().pop(SHORT_LINK_STATS_TOTAL_DIRTY_KEY, DIRTY_GID_POP_SIZE)).isEmpty()) {
+                for (String each : gids) {
+                    if (!flushGroup(each)) {
+                        //落库失败的分组重新登记，剩余分组留待下一轮
+                        markDirty(gids);
+                        return;
+                    }
+                }
+            }
+        } catch (Throwable ex) {
+            log.error("短链接累计访问计数落库异常", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean flushGroup(String gid) {
+        String deltaKey = String.format(SHORT_LINK_STATS_TOTAL_DELTA_KEY, gid);
+        String flushingKey = String.format(SHORT_LINK_STATS_TOTAL_FLUSHING_KEY, gid);
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        List<Object> results = takeScript.executePipelined(stringRedisTemplate, connection ->
+                takeScript.evalSha(connection, 2, serializer.serialize(deltaKey), serializer.serialize(flushingKey)));
+        List<ShortLinkDO> deltas = parseDeltas(gid, (List<?>) results.get(0));
+        try {
+            if (!deltas.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> ListUtil.partition(deltas, totalConfiguration.getUpdateBatchSize())
+                        .forEach(batch -> shortLinkMapper.incrementStatsBatch(gid, batch)));
+            }
+        } catch (Exception ex) {
+            log.error("短链接累计访问计数落库失败，分组：{}，{} 条短链接将在下次落库时重试", gid, deltas.size(), ex);
+            return false;
+        }
+        stringRedisTemplate.delete(flushingKey);
+        //取出增量后又有新的访问写入时保持登记状态
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(deltaKey))) {
+            markDirty(List.of(gid));
+        }
+        return true;
+    }
+
+    private List<ShortLinkDO> parseDeltas(String gid, List<?> entries) {
+        Map<String, ShortLinkDO> deltas = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < entries.size(); i += 2) {
+            String field = entries.get(i).toString();
+            int separator = field.lastIndexOf(':');
+            String fullShortUrl = field.substring(0, separator);
+            int value = Integer.parseInt(entries.get(i + 1).toString());
+            ShortLinkDO delta = deltas.computeIfAbsent(fullShortUrl, key -> ShortLinkDO.builder()
+                    .gid(gid)
+                    .fullShortUrl(key)
+                    .totalPv(0)
+                    .totalUv(0)
+                    .totalUip(0)
+                    .build());
+            switch (field.substring(separator + 1)) {
+                case "pv" -> delta.setTotalPv(value);
+                case "uv" -> delta.setTotalUv(value);
+                case "uip" -> delta.setTotalUip(value);
+                default -> {
+                }
+            }
+        }
+        return new ArrayList<>(deltas.values());
+    }
+
+    private static int pendingDelta(List<Object> results, int index) {
+        int pending = 0;
+        for (Object each : results) {
+            if (each instanceof List<?> values && values.get(index) != null) {
+                pending += Integer.parseInt(values.get(index).toString());
+            }
+        }
+        return pending;
+    }
+
+    private static int nullToZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,190 @@
+package com.yu.project.common.stats;
+
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import com.yu.project.config.ShortLinkStatsUniqueConfiguration;
+import com.yu.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.yu.project.toolkit.RedisLuaScript;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_RANK_SEEDED_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_TODAY_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_TOTAL_DELTA_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UIP_DAILY_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UIP_TOTAL_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UNIQUE_MERGE_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UV_DAILY_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UV_TOTAL_KEY;
+import static com.yu.project.common.constant.ShortLinkConstant.SHORT_LINK_STATS_CLICK_LUA_SCRIPT_PATH;
+
+/**
+ * 短链接 UV、UIP 基数估计
+ * 每个短链接按天和历史累计各维护一个 Redis HyperLogLog，单个 Key 最多占用约 12 KB，标准误差约 0.81%；
+ * 同一分组的 Key 使用分组标识作为哈希标签，日期区间与分组维度的 UV、UIP 通过多 Key PFCOUNT 合并计算，
+ * 单次访问的基数估计与分组当日计数由同一个 Lua 脚本在集群同一槽位内原子完成
+ */
+@Component
+@RequiredArgsConstructor
+public class ShortLinkUniqueVisitorCounter {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+
+    /**
+     * 合并临时 Key 过期时间，防止计数中途异常时残留
+     */
+    private static final long MERGE_KEY_TIMEOUT_SECONDS = 60L;
+
+    private final RedisLuaScript<Long> clickScript = new RedisLuaScript<>(SHORT_LINK_STATS_CLICK_LUA_SCRIPT_PATH, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ShortLinkStatsUniqueConfiguration uniqueConfiguration;
+
+    /**
+     * 记录一批访问事件的访客与 IP，累加分组当日计数、累计计数增量与分组排行，并为未携带新访客标识的事件补全当日首次访问标识
+     * 每次访问的全部 Redis 操作由一次 Lua 脚本调用原子完成，整批调用放在同一个管道内
+     *
+     * @param records 已补全分组标识的访问统计事件集合
+     */
+    public void record(List<ShortLinkStatsRecordDTO> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        byte[] dailyTimeout = serializer.serialize(String.valueOf(TimeUnit.DAYS.toSeconds(uniqueConfiguration.getDailyRetentionDays())));
+        byte[] todayTimeout = serializer.serialize(String.valueOf(TimeUnit.DAYS.toSeconds(ShortLinkTodayStatsStore.TODAY_KEY_TIMEOUT_DAYS)));
+        List<Object> results = clickScript.executePipelined(stringRedisTemplate, connection -> {
+            for (ShortLinkStatsRecordDTO each : records) {
+                String date = DateUtil.toLocalDateTime(each.getCurrentDate()).toLocalDate().format(DATE_FORMATTER);
+                clickScript.evalSha(connection, 13,
+                        serializer.serialize(String.format(SHORT_LINK_STATS_UV_DAILY_KEY, each.getGid(), each.getFullShortUrl(), date)),
+                        serializer.serialize(String.format(SHORT_LINK_STATS_UIP_DAILY_KEY, each.getGid(), each.getFullShortUrl(), date)),
+                        serializer.serialize(String.format(SHORT_LINK_STATS_UV_TOTAL_KEY, each.getGid(), each.getFullShortUrl())),
+                        serializer.serialize(String.format(SHORT_LINK_STATS_UIP_TOTAL_KEY, each.getGid(), each.getFullShortUrl())),
+                        serializer.serialize(String.format(SHORT_LINK_STATS_TODAY_KEY, each.getGid(), date)),
+                        serializer.serialize(String.format(SHORT_LINK_STATS_TOTAL_DELTA_KEY, each.getGid())),
+                        serializer.serialize(ShortLinkRankIndex.todayRankKey(each.getGid(), "todayPv", date)),
+                        serializer.serialize(ShortLinkRankIndex.todayRankKey(each.getGid(), "todayUv", date)),
+                        serializer.serialize(ShortLinkRankIndex.todayRankKey(each.getGid(), "todayUip", date)),
+                        serializer.serialize(ShortLinkRankIndex.totalRankKey(each.getGid(), "totalPv")),
+                        serializer.serialize(ShortLinkRankIndex.totalRankKey(each.getGid(), "totalUv")),
+                        serializer.serialize(ShortLinkRankIndex.totalRankKey(each.getGid(), "totalUip")),
+                        serializer.serialize(String.format(SHORT_LINK_STATS_RANK_SEEDED_KEY, each.getGid())),
+                        serializer.serialize(StrUtil.nullToEmpty(each.getUv())),
+                        serializer.serialize(StrUtil.nullToEmpty(each.getRemoteAddr())),
+                        serializer.serialize(each.getFullShortUrl()),
+                        dailyTimeout,
+                        todayTimeout);
+            }
+        });
+        for (int i = 0; i < records.size(); i++) {
+            ShortLinkStatsRecordDTO each = records.get(i);
+            long firstFlags = results.get(i) instanceof Long flags ? flags : 0L;
+            if (each.getUvFirstFlag() == null) {
+                each.setUvFirstFlag((firstFlags & 1L) != 0);
+            }
+            if (each.getUipFirstFlag() == null) {
+                each.setUipFirstFlag((firstFlags & 2L) != 0);
+            }
+        }
+    }
+
+    /**
+     * 统计单个短链接在日期区间内的 UV
+     */
+    public long countUv(String gid, String fullShortUrl, LocalDate startDate, LocalDate endDate) {
+        return count(gid, dailyKeys(SHORT_LINK_STATS_UV_DAILY_KEY, gid, List.of(fullShortUrl), startDate, endDate));
+    }
+
+    /**
+     * 统计单个短链接在日期区间内的 UIP
+     */
+    public long countUip(String gid, String fullShortUrl, LocalDate startDate, LocalDate endDate) {
+        return count(gid, dailyKeys(SHORT_LINK_STATS_UIP_DAILY_KEY, gid, List.of(fullShortUrl), startDate, endDate));
+    }
+
+    /**
+     * 统计分组内多个短链接在日期区间内去重后的 UV
+     */
+    public long countGroupUv(String gid, List<String> fullShortUrls, LocalDate startDate, LocalDate endDate) {
+        return count(gid, dailyKeys(SHORT_LINK_STATS_UV_DAILY_KEY, gid, fullShortUrls, startDate, endDate));
+    }
+
+    /**
+     * 统计分组内多个短链接在日期区间内去重后的 UIP
+     */
+    public long countGroupUip(String gid, List<String> fullShortUrls, LocalDate startDate, LocalDate endDate) {
+        return count(gid, dailyKeys(SHORT_LINK_STATS_UIP_DAILY_KEY, gid, fullShortUrls, startDate, endDate));
+    }
+
+    /**
+     * 统计单个短链接历史累计 UV
+     */
+    public long countTotalUv(String gid, String fullShortUrl) {
+        return count(gid, List.of(String.format(SHORT_LINK_STATS_UV_TOTAL_KEY, gid, fullShortUrl)));
+    }
+
+    /**
+     * 统计单个短链接历史累计 UIP
+     */
+    public long countTotalUip(String gid, String fullShortUrl) {
+        return count(gid, List.of(String.format(SHORT_LINK_STATS_UIP_TOTAL_KEY, gid, fullShortUrl)));
+    }
+
+    /**
+     * 按日期区间生成每日基数估计 Key，超出保留天数的日期直接跳过
+     */
+    private List<String> dailyKeys(String keyPattern, String gid, List<String> fullShortUrls, LocalDate startDate, LocalDate endDate) {
+        LocalDate earliest = LocalDate.now().minusDays(uniqueConfiguration.getDailyRetentionDays());
+        LocalDate start = startDate.isBefore(earliest) ? earliest : startDate;
+        if (start.isAfter(endDate) || fullShortUrls.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> keys = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(endDate); date = date.plusDays(1)) {
+            String formatted = date.format(DATE_FORMATTER);
+            for (String each : fullShortUrls) {
+                keys.add(String.format(keyPattern, gid, each, formatted));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 合并多个基数估计并计数，Key 数量较多时先分批 PFMERGE 到临时 Key，避免单条命令过大
+     */
+    private long count(String gid, List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        int maxCountKeys = uniqueConfiguration.getMaxCountKeys();
+        if (keys.size() <= maxCountKeys) {
+            Long size = stringRedisTemplate.opsForHyperLogLog().size(keys.toArray(new String[0]));
+            return size == null ? 0L : size;
+        }
+        String mergeKey = String.format(SHORT_LINK_STATS_UNIQUE_MERGE_KEY, gid, IdUtil.fastSimpleUUID());
+        try {
+            Long size = 0L;
+            for (List<String> each : ListUtil.partition(keys, maxCountKeys)) {
+                //目标 Key 已存在时会作为源之一参与合并
+                size = stringRedisTemplate.opsForHyperLogLog().union(mergeKey, each.toArray(new String[0]));
+                stringRedisTemplate.expire(mergeKey, MERGE_KEY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+            return size == null ? 0L : size;
+        } finally {
+            stringRedisTemplate.delete(mergeKey);
+        }
+    }
+}
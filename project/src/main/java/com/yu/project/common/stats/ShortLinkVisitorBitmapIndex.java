@@ -0,0 +1,297 @@
+package com.yu.project.common.stats;
+
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yu.project.config.ShortLinkStatsExactUvConfiguration;
+import com.yu.project.dto.biz.ShortLinkStatsRecordDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.buffer.BufferFastAggregation;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static com.yu.project.common.constant.RedisKeyConstant.LOCK_UV_BITMAP_COMPACT_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UV_BITMAP_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_VISITOR_ID_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_VISITOR_ID_SEQUENCE_KEY;
+
+/**
+ * 短链接每日访客位图索引，用于任意日期区间的精确 UV 统计
+ * 访客标识映射为全局稠密整数编号（映射按周期分组并随位图保留期过期），每个短链接每天一个 Redis 列表，每批访问事件以压缩后的 Roaring Bitmap 增量追加写入，
+ * 增量过多时加锁合并为一个位图；区间查询读取每日位图做并集后计算基数，无需扫描访问日志表
+ */
+@Slf4j
+@Component
+public class ShortLinkVisitorBitmapIndex {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+
+    /**
+     * 访客编号映射哈希分桶数量，避免单个 Hash Key 过大
+     */
+    private static final int VISITOR_ID_BUCKETS = 64;
+
+    /**
+     * 原子替换列表头部已合并的增量：先裁掉前 ARGV[2] 个元素，再把合并结果放回头部，合并期间追加的增量保留在尾部
+     */
+    private static final byte[] COMPACT_SCRIPT = """
+            redis.call('LTRIM', KEYS[1], tonumber(ARGV[2]), -1)
+            redis.call('LPUSH', KEYS[1], ARGV[1])
+            return 1
+            """.getBytes();
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final RedissonClient redissonClient;
+
+    private final ShortLinkStatsExactUvConfiguration exactUvConfiguration;
+
+    private final Cache<String, Integer> visitorIdCache;
+
+    public ShortLinkVisitorBitmapIndex(StringRedisTemplate stringRedisTemplate,
+                                       RedissonClient redissonClient,
+                                       ShortLinkStatsExactUvConfiguration exactUvConfiguration) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redissonClient = redissonClient;
+        this.exactUvConfiguration = exactUvConfiguration;
+        this.visitorIdCache = Caffeine.newBuilder()
+                .maximumSize(exactUvConfiguration.getVisitorIdCacheSize())
+                .build();
+    }
+
+    /**
+     * 将一批访问事件的访客写入对应短链接的每日位图
+     * 位图并集天然幂等，整批重新投递时不会造成重复计数
+     *
+     * @param records 访问统计事件集合
+     */
+    public void add(List<ShortLinkStatsRecordDTO> records) {
+        if (!exactUvConfiguration.getEnable()) {
+            return;
+        }
+        List<ShortLinkStatsRecordDTO> visits = records.stream()
+                .filter(each -> StrUtil.isNotBlank(each.getUv()))
+                .toList();
+        if (visits.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> visitorIds = resolveVisitorIds(visits.stream().map(ShortLinkStatsRecordDTO::getUv).distinct().toList());
+        Map<String, RoaringBitmap> deltas = new LinkedHashMap<>();
+        for (ShortLinkStatsRecordDTO each : visits) {
+            String date = DateUtil.toLocalDateTime(each.getCurrentDate()).toLocalDate().format(DATE_FORMATTER);
+            deltas.computeIfAbsent(String.format(SHORT_LINK_STATS_UV_BITMAP_KEY, each.getFullShortUrl(), date), key -> new RoaringBitmap())
+                    .add(visitorIds.get(each.getUv()));
+        }
+
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        List<String> keys = new ArrayList<>(deltas.keySet());
+        long retentionSeconds = TimeUnit.DAYS.toSeconds(exactUvConfiguration.getDailyRetentionDays());
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String each : keys) {
+                byte[] rawKey = serializer.serialize(each);
+                connection.listCommands().rPush(rawKey, serialize(deltas.get(each)));
+                connection.keyCommands().expire(rawKey, retentionSeconds);
+            }
+            return null;
+        });
+        for (int i = 0; i < keys.size(); i++) {
+            Object length = results.get(i * 2);
+            if (length instanceof Long && (Long) length > exactUvConfiguration.getCompactThreshold()) {
+                compact(keys.get(i));
+            }
+        }
+    }
+
+    /**
+     * 统计单个短链接在日期区间内的精确 UV
+     */
+    public long countUv(String fullShortUrl, LocalDate startDate, LocalDate endDate) {
+        List<String> keys = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            keys.add(String.format(SHORT_LINK_STATS_UV_BITMAP_KEY, fullShortUrl, date.format(DATE_FORMATTER)));
+        }
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String each : keys) {
+                connection.listCommands().lRange(serializer.serialize(each), 0, -1);
+            }
+            return null;
+        }, RedisSerializer.byteArray());
+        List<ImmutableRoaringBitmap> bitmaps = new ArrayList<>();
+        for (Object each : results) {
+            if (each instanceof List<?> values) {
+                values.forEach(value -> bitmaps.add(new ImmutableRoaringBitmap(ByteBuffer.wrap((byte[]) value))));
+            }
+        }
+        if (bitmaps.isEmpty()) {
+            return 0L;
+        }
+        return BufferFastAggregation.or(bitmaps.iterator()).getLongCardinality();
+    }
+
+    /**
+     * 合并单日位图的全部增量，其他节点正在合并时直接跳过
+     */
+    private void compact(String key) {
+        RLock lock = redissonClient.getLock(String.format(LOCK_UV_BITMAP_COMPACT_KEY, key));
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            byte[] rawKey = stringRedisTemplate.getStringSerializer().serialize(key);
+            List<byte[]> values = stringRedisTemplate.execute((RedisCallback<List<byte[]>>) connection -> connection.listCommands().lRange(rawKey, 0, -1));
+            if (values == null || values.size() <= 1) {
+                return;
+            }
+            List<ImmutableRoaringBitmap> bitmaps = values.stream()
+                    .map(each -> new ImmutableRoaringBitmap(ByteBuffer.wrap(each)))
+                    .toList();
+            RoaringBitmap merged = BufferFastAggregation.or(bitmaps.iterator()).toRoaringBitmap();
+            byte[] count = String.valueOf(values.size()).getBytes();
+            stringRedisTemplate.execute((RedisCallback<Object>) connection -> connection.scriptingCommands()
+                    .eval(COMPACT_SCRIPT, ReturnType.INTEGER, 1, rawKey, serialize(merged), count));
+        } catch (Throwable ex) {
+            log.error("短链接访客位图合并失败，Key：{}", key, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 批量获取访客稠密整数编号
+     * 映射按周期分组存放，每个周期的哈希在周期结束并再经过每日位图保留天数后过期；当前周期未找到时依次查找仍未过期的历史周期，
+     * 找到则沿用原编号写入当前周期，持续访问的访客编号保持不变，长期未访问的访客映射与其位图一起过期；
+     * 仍未找到的访客一次性申请一段编号，与沿用的编号一起用 HSETNX 抢占，抢占失败时以已写入的编号为准
+     */
+    private Map<String, Integer> resolveVisitorIds(Collection<String> visitors) {
+        long today = LocalDate.now().toEpochDay();
+        long period = Math.floorDiv(today, exactUvConfiguration.getVisitorIdPeriodDays());
+        Map<String, Integer> visitorIds = new HashMap<>(visitors.size() * 2);
+        List<String> missing = new ArrayList<>();
+        for (String each : visitors) {
+            Integer visitorId = visitorIdCache.getIfPresent(period + ":" + each);
+            if (visitorId != null) {
+                visitorIds.put(each, visitorId);
+            } else {
+                missing.add(each);
+            }
+        }
+        if (missing.isEmpty()) {
+            return visitorIds;
+        }
+        List<String> unresolved = new ArrayList<>();
+        List<Object> existing = lookupVisitorIds(period, missing);
+        for (int i = 0; i < missing.size(); i++) {
+            if (existing.get(i) != null) {
+                visitorIds.put(missing.get(i), Integer.parseUnsignedInt(existing.get(i).toString()));
+            } else {
+                unresolved.add(missing.get(i));
+            }
+        }
+        Map<String, Integer> proposed = new LinkedHashMap<>();
+        long oldestPeriod = Math.floorDiv(today - exactUvConfiguration.getDailyRetentionDays(), exactUvConfiguration.getVisitorIdPeriodDays());
+        for (long previous = period - 1; previous >= oldestPeriod && !unresolved.isEmpty(); previous--) {
+            List<Object> carried = lookupVisitorIds(previous, unresolved);
+            List<String> stillUnresolved = new ArrayList<>();
+            for (int i = 0; i < unresolved.size(); i++) {
+                if (carried.get(i) != null) {
+                    proposed.put(unresolved.get(i), Integer.parseUnsignedInt(carried.get(i).toString()));
+                } else {
+                    stillUnresolved.add(unresolved.get(i));
+                }
+            }
+            unresolved = stillUnresolved;
+        }
+        if (!unresolved.isEmpty()) {
+            Long last = stringRedisTemplate.opsForValue().increment(SHORT_LINK_STATS_VISITOR_ID_SEQUENCE_KEY, unresolved.size());
+            long first = Objects.requireNonNull(last) - unresolved.size() + 1;
+            for (int i = 0; i < unresolved.size(); i++) {
+                proposed.put(unresolved.get(i), (int) (first + i));
+            }
+        }
+        if (!proposed.isEmpty()) {
+            visitorIds.putAll(claimVisitorIds(period, proposed));
+        }
+        missing.forEach(each -> visitorIdCache.put(period + ":" + each, visitorIds.get(each)));
+        return visitorIds;
+    }
+
+    private List<Object> lookupVisitorIds(long period, List<String> visitors) {
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        return stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            visitors.forEach(each -> connection.hashCommands().hGet(serializer.serialize(bucketKey(period, each)), serializer.serialize(each)));
+            return null;
+        });
+    }
+
+    /**
+     * 将编号写入当前周期映射并设置过期时间，抢占失败的访客读取已写入的编号
+     */
+    private Map<String, Integer> claimVisitorIds(long period, Map<String, Integer> proposed) {
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        long expireAt = LocalDate.ofEpochDay((period + 1) * exactUvConfiguration.getVisitorIdPeriodDays())
+                .plusDays(exactUvConfiguration.getDailyRetentionDays())
+                .atStartOfDay(ZoneId.systemDefault())
+                .toEpochSecond();
+        List<String> visitors = new ArrayList<>(proposed.keySet());
+        List<Object> claimed = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String each : visitors) {
+                byte[] rawKey = serializer.serialize(bucketKey(period, each));
+                connection.hashCommands().hSetNX(rawKey, serializer.serialize(each), serializer.serialize(Integer.toUnsignedString(proposed.get(each))));
+                connection.keyCommands().expireAt(rawKey, expireAt);
+            }
+            return null;
+        });
+        Map<String, Integer> visitorIds = new HashMap<>(visitors.size() * 2);
+        List<String> lost = new ArrayList<>();
+        for (int i = 0; i < visitors.size(); i++) {
+            if (Boolean.TRUE.equals(claimed.get(i * 2))) {
+                visitorIds.put(visitors.get(i), proposed.get(visitors.get(i)));
+            } else {
+                lost.add(visitors.get(i));
+            }
+        }
+        if (!lost.isEmpty()) {
+            List<Object> winners = lookupVisitorIds(period, lost);
+            for (int i = 0; i < lost.size(); i++) {
+                visitorIds.put(lost.get(i), Integer.parseUnsignedInt(winners.get(i).toString()));
+            }
+        }
+        return visitorIds;
+    }
+
+    private String bucketKey(long period, String visitor) {
+        return String.format(SHORT_LINK_STATS_VISITOR_ID_KEY, period, Math.floorMod(visitor.hashCode(), VISITOR_ID_BUCKETS));
+    }
+
+    private static byte[] serialize(RoaringBitmap bitmap) {
+        bitmap.runOptimize();
+        ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSizeInBytes());
+        bitmap.serialize(buffer);
+        return buffer.array();
+    }
+}
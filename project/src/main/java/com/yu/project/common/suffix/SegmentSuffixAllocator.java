@@ -0,0 +1,149 @@
+package com.yu.project.common.suffix;
+
+import com.yu.project.common.convention.exception.ServiceException;
+import com.yu.project.config.ShortLinkSuffixConfiguration;
+import com.yu.project.dao.mapper.SuffixSegmentMapper;
+import com.yu.project.toolkit.HashUtil;
+import com.yu.project.toolkit.ShortCodeShuffler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.yu.project.common.constant.RedisKeyConstant.SUFFIX_SEGMENT_KEY;
+import static com.yu.project.toolkit.HashUtil.SHORT_CODE_LENGTH;
+import static com.yu.project.toolkit.HashUtil.SHORT_CODE_SPACE;
+
+/**
+ * 号段模式短链接后缀分配器
+ * 每个节点在数据库号段表中推进已分配的最大 ID 租用一段连续 ID，双缓冲在当前号段耗尽前异步预取下一段；
+ * 号段水位持久化在数据库中，Redis 数据丢失不会导致重复发号；
+ * ID 经密钥置乱双射为后缀，天然不重复，生成后缀不再需要布隆过滤器判重与重试
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SegmentSuffixAllocator {
+
+    private final ShortLinkSuffixConfiguration suffixConfiguration;
+
+    /**
+     * 号段表中的业务标识
+     */
+    private static final String BIZ_TAG = "short-link";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final SuffixSegmentMapper suffixSegmentMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "short-link_suffix-segment-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ShortCodeShuffler shortCodeShuffler;
+
+    private volatile Segment current;
+
+    private CompletableFuture<Segment> next;
+
+    @PostConstruct
+    public void init() {
+        shortCodeShuffler = new ShortCodeShuffler(suffixConfiguration.getSegment().getShuffleKey());
+        current = new Segment(0L, 0L, 0L);
+        //首次启用数据库号段时以原 Redis 号段水位为起点，已发出的 ID 不会再次分配
+        String legacyMaxId = stringRedisTemplate.opsForValue().get(SUFFIX_SEGMENT_KEY);
+        suffixSegmentMapper.initSegment(BIZ_TAG, legacyMaxId == null ? 0L : Long.parseLong(legacyMaxId));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    /**
+     * 分配短链接后缀，号段充足时无远程调用
+     *
+     * @return 定长 base62 短链接后缀
+     */
+    public String nextSuffix() {
+        return HashUtil.toFixedBase62(shortCodeShuffler.shuffle(nextId()), SHORT_CODE_LENGTH);
+    }
+
+    private long nextId() {
+        while (true) {
+            Segment segment = current;
+            long id = segment.cursor.getAndIncrement();
+            if (id < segment.end) {
+                if (segment.end - id == segment.prefetchAt) {
+                    prefetch();
+                }
+                return id;
+            }
+            switchSegment(segment);
+        }
+    }
+
+    private synchronized void prefetch() {
+        if (next == null) {
+            next = CompletableFuture.supplyAsync(this::leaseSegment, prefetchExecutor);
+        }
+    }
+
+    private synchronized void switchSegment(Segment exhausted) {
+        if (current != exhausted) {
+            return;
+        }
+        Segment leased;
+        try {
+            leased = next != null ? next.join() : leaseSegment();
+        } catch (Exception ex) {
+            log.warn("预取短链接号段失败，同步重新申请", ex);
+            leased = leaseSegment();
+        } finally {
+            next = null;
+        }
+        current = leased;
+    }
+
+    private Segment leaseSegment() {
+        long step = suffixConfiguration.getSegment().getStep();
+        Long end = transactionTemplate.execute(status -> suffixSegmentMapper.increaseMaxId(BIZ_TAG, step) > 0
+                ? suffixSegmentMapper.selectMaxId(BIZ_TAG)
+                : null);
+        if (end == null) {
+            throw new ServiceException("短链接号段申请失败");
+        }
+        if (end > SHORT_CODE_SPACE) {
+            throw new ServiceException("短链接后缀已耗尽");
+        }
+        long prefetchAt = Math.max(1L, (long) (step * suffixConfiguration.getSegment().getPrefetchRatio()));
+        return new Segment(end - step, end, prefetchAt);
+    }
+
+    private static class Segment {
+
+        private final AtomicLong cursor;
+
+        private final long end;
+
+        private final long prefetchAt;
+
+        private Segment(long start, long end, long prefetchAt) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+            this.prefetchAt = prefetchAt;
+        }
+    }
+}
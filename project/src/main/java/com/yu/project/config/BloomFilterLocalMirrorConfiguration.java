@@ -0,0 +1,31 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 布隆过滤器本地镜像配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.bloom-filter.local-mirror")
+public class BloomFilterLocalMirrorConfiguration {
+
+    /**
+     * 是否开启布隆过滤器本地镜像
+     * 开启后每个节点额外占用约 位数组长度 / 8 字节堆内存，默认 1 亿容量、0.001 误判率的切片约 1.44e9 位，即约 180MB；
+     * 全量重新同步期间临时再多一份，重建期间新旧两代切片同时加载时再翻倍
+     */
+    private Boolean enable = false;
+
+    /**
+     * 本地镜像可占用的堆内存上限，单位：字节，每个切片按两份位数组预留，超出上限的切片不开启镜像
+     */
+    private Long maxHeapBytes = 536870912L;
+
+    /**
+     * 全量重新同步间隔，单位：毫秒，兜底发布订阅丢失的新增事件
+     */
+    private Long resyncInterval = 600000L;
+}
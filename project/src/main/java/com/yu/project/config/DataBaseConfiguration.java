@@ -3,6 +3,7 @@ package com.yu.project.config;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.yu.project.common.database.QueryTimeoutInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -21,4 +22,12 @@ public class DataBaseConfiguration {
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
         return interceptor;
     }
+
+    /**
+     * 查询截止时间拦截器
+     */
+    @Bean
+    public QueryTimeoutInterceptor queryTimeoutInterceptor() {
+        return new QueryTimeoutInterceptor();
+    }
 }
@@ -0,0 +1,29 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 离线 IP 地址库配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.locale.ip-db")
+public class IpLocationDatabaseConfiguration {
+
+    /**
+     * 是否开启离线 IP 地址库
+     */
+    private Boolean enable = true;
+
+    /**
+     * 地址库文件路径，每行格式：起始IP,结束IP,国家,省份,城市,城市编码
+     */
+    private String path = "data/ip-location.csv";
+
+    /**
+     * 检查地址库文件更新的间隔，单位毫秒
+     */
+    private Long reloadInterval = 60000L;
+}
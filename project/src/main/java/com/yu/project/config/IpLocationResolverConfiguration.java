@@ -0,0 +1,54 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * IP 地理位置解析配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.locale.resolver")
+public class IpLocationResolverConfiguration {
+
+    /**
+     * /24 网段解析结果缓存时间，单位秒
+     */
+    private Long cacheTtl = 3600L;
+
+    /**
+     * 缓存最大网段数
+     */
+    private Long cacheMaximumSize = 100000L;
+
+    /**
+     * 攒批时间窗口，单位毫秒
+     */
+    private Long batchWindowMillis = 5L;
+
+    /**
+     * 单批最大解析网段数
+     */
+    private Integer batchSize = 128;
+
+    /**
+     * 等待解析队列容量，队列满时直接返回未知地区
+     */
+    private Integer queueCapacity = 10000;
+
+    /**
+     * 离线地址库未命中时是否调用高德接口
+     */
+    private Boolean remoteEnable = true;
+
+    /**
+     * 高德接口超时时间，单位毫秒
+     */
+    private Integer remoteTimeout = 1000;
+
+    /**
+     * 高德接口并发数
+     */
+    private Integer remoteConcurrency = 8;
+}
@@ -1,9 +1,10 @@
 package com.yu.project.config;
 
-import org.redisson.api.RBloomFilter;
+import com.yu.project.common.bloom.ScalableBloomFilter;
 import org.redisson.api.RedissonClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 /**
  * 布隆过滤器配置
@@ -13,11 +14,21 @@ public class RBloomFilterConfiguration {
 
     /**
      * 防止短链接创建查询数据库的布隆过滤器
+     * 独立命名空间，不再与后管用户名共用同一个过滤器；首次部署未构建完成前按“可能存在”处理，由空值缓存与数据库兜底
      */
-    @Bean
-    public RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter(RedissonClient redissonClient) {
-        RBloomFilter<String> cachePenetrationBloomFilter = redissonClient.getBloomFilter("userRegisterCachePenetrationBloomFilter");
-        cachePenetrationBloomFilter.tryInit(100000000L, 0.001);
-        return cachePenetrationBloomFilter;
+    @Bean(initMethod = "start")
+    public ScalableBloomFilter shortUriCreateCachePenetrationBloomFilter(RedissonClient redissonClient,
+                                                                         StringRedisTemplate stringRedisTemplate,
+                                                                         BloomFilterLocalMirrorConfiguration localMirrorConfiguration) {
+        return new ScalableBloomFilter(
+                redissonClient,
+                stringRedisTemplate,
+                "shortUriCreateCachePenetrationBloomFilter",
+                100000000L,
+                0.001,
+                localMirrorConfiguration.getEnable(),
+                localMirrorConfiguration.getMaxHeapBytes(),
+                true
+        );
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 package com.yu.project.config;
 
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRuleManager;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
 import org.springframework.beans.factory.InitializingBean;
@@ -9,8 +11,10 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.yu.project.common.constant.ShortLinkConstant.AMAP_REMOTE_RESOURCE;
+
 /**
- * 初始化限流配置
+ * 初始化限流与熔断配置
  */
 @Component
 public class SentinelRuleConfig implements InitializingBean {
@@ -24,5 +28,17 @@ public class SentinelRuleConfig implements InitializingBean {
         createOrderRule.setCount(1);
         rules.add(createOrderRule);
         FlowRuleManager.loadRules(rules);
+
+        //高德地区接口慢调用比例超过一半时熔断 30 秒，期间地区统计降级为未知
+        List<DegradeRule> degradeRules = new ArrayList<>();
+        DegradeRule amapDegradeRule = new DegradeRule(AMAP_REMOTE_RESOURCE);
+        amapDegradeRule.setGrade(RuleConstant.DEGRADE_GRADE_RT);
+        amapDegradeRule.setCount(500);
+        amapDegradeRule.setSlowRatioThreshold(0.5);
+        amapDegradeRule.setMinRequestAmount(10);
+        amapDegradeRule.setStatIntervalMs(10000);
+        amapDegradeRule.setTimeWindow(30);
+        degradeRules.add(amapDegradeRule);
+        DegradeRuleManager.loadRules(degradeRules);
     }
 }
@@ -0,0 +1,24 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接批量创建配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.batch-create")
+public class ShortLinkBatchCreateConfiguration {
+
+    /**
+     * 单次请求最多创建的短链接数量
+     */
+    private Integer maxSize = 50000;
+
+    /**
+     * 单个事务内批量插入的行数
+     */
+    private Integer insertBatchSize = 1000;
+}
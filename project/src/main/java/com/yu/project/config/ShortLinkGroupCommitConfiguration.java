@@ -0,0 +1,34 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接创建组提交配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.create.group-commit")
+public class ShortLinkGroupCommitConfiguration {
+
+    /**
+     * 是否开启组提交
+     */
+    private Boolean enable = false;
+
+    /**
+     * 攒批时间窗口，单位毫秒
+     */
+    private Long windowMillis = 2L;
+
+    /**
+     * 单批最大创建请求数
+     */
+    private Integer maxBatchSize = 256;
+
+    /**
+     * 等待队列容量，队列满时降级为直接写入
+     */
+    private Integer queueCapacity = 10000;
+}
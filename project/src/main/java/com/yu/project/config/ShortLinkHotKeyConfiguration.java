@@ -0,0 +1,49 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接热点 Key 探测配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.cache.hot-key")
+public class ShortLinkHotKeyConfiguration {
+
+    /**
+     * 是否开启热点 Key 探测
+     */
+    private Boolean enable = true;
+
+    /**
+     * 采样比例，每 N 次跳转采样一次
+     */
+    private Integer sampleRate = 8;
+
+    /**
+     * 滑动窗口长度，单位：秒
+     */
+    private Integer windowSeconds = 10;
+
+    /**
+     * 晋升为热点 Key 的单节点 QPS 阈值
+     */
+    private Long threshold = 500L;
+
+    /**
+     * 最多同时驻留的热点 Key 数量
+     */
+    private Integer topK = 64;
+
+    /**
+     * 热点 Key 本地驻留时间，单位：毫秒，后台刷新续期
+     */
+    private Long pinTtl = 5000L;
+
+    /**
+     * 热点 Key 后台刷新间隔，单位：毫秒，需小于驻留时间
+     */
+    private Long refreshInterval = 1000L;
+}
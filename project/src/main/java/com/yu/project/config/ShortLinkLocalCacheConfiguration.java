@@ -0,0 +1,30 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接跳转本地缓存配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.cache.local")
+public class ShortLinkLocalCacheConfiguration {
+
+    /**
+     * 是否开启跳转本地缓存
+     */
+    private Boolean enable = true;
+
+    /**
+     * 本地缓存最大占用，单位：字节
+     */
+    private Long maximumWeight = 64L * 1024 * 1024;
+
+    /**
+     * 本地缓存最长存活时间，单位：秒
+     * 失效广播丢失时，本地缓存最多脏读该时长
+     */
+    private Long expireAfterWrite = 300L;
+}
@@ -0,0 +1,29 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接访问统计内存预聚合配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.aggregate")
+public class ShortLinkStatsAggregateConfiguration {
+
+    /**
+     * 是否开启跨批次预聚合，关闭时每批消息处理完立即落库
+     */
+    private Boolean enable = true;
+
+    /**
+     * 定时落库间隔，单位毫秒
+     */
+    private Long flushInterval = 5000L;
+
+    /**
+     * 聚合缓冲区最大统计行数，超过后提前落库；落库失败合并回缓冲区时超过该行数的统计被丢弃
+     */
+    private Integer maxEntries = 200000;
+}
@@ -0,0 +1,34 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接访问采集环形缓冲区配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.capture")
+public class ShortLinkStatsCaptureConfiguration {
+
+    /**
+     * 环形缓冲区槽位数，向上取整为 2 的幂
+     */
+    private Integer bufferSize = 65536;
+
+    /**
+     * 缓冲区满时的处理策略 drop：丢弃并计数 block：等待空闲槽位
+     */
+    private String overflowPolicy = "drop";
+
+    /**
+     * block 策略下最长等待时间，超时后丢弃，单位毫秒
+     */
+    private Long blockTimeoutMillis = 50L;
+
+    /**
+     * 消费线程单次发送的最大访问事件数
+     */
+    private Integer drainBatchSize = 256;
+}
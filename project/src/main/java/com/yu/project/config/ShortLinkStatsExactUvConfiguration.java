@@ -0,0 +1,39 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接精确 UV 位图索引配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.exact-uv")
+public class ShortLinkStatsExactUvConfiguration {
+
+    /**
+     * 是否开启每日访客位图索引
+     */
+    private Boolean enable = true;
+
+    /**
+     * 每日访客位图保留天数
+     */
+    private Integer dailyRetentionDays = 400;
+
+    /**
+     * 访客编号映射周期天数，每个周期一组映射哈希，周期结束后再保留每日位图保留天数后过期
+     */
+    private Integer visitorIdPeriodDays = 30;
+
+    /**
+     * 单日位图增量列表超过该长度后合并为一个位图
+     */
+    private Integer compactThreshold = 16;
+
+    /**
+     * 访客编号本地缓存最大数量
+     */
+    private Integer visitorIdCacheSize = 200000;
+}
@@ -0,0 +1,29 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接监控查询配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.query")
+public class ShortLinkStatsQueryConfiguration {
+
+    /**
+     * 监控维度并发查询线程数
+     */
+    private Integer concurrency = 16;
+
+    /**
+     * 等待执行的维度查询队列容量，队列满时该维度直接返回空结果
+     */
+    private Integer queueCapacity = 512;
+
+    /**
+     * 单个维度查询超时时间，包含排队时间，同时作为 JDBC 语句超时的上限，单位毫秒
+     */
+    private Long timeoutMillis = 3000L;
+}
@@ -0,0 +1,49 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接访问统计消息流配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.stream")
+public class ShortLinkStatsStreamConfiguration {
+
+    /**
+     * 消费者组名称
+     */
+    private String group = "short-link_stats-save_group";
+
+    /**
+     * 消费线程数
+     */
+    private Integer consumerThreads = 2;
+
+    /**
+     * 单次读取消息数
+     */
+    private Integer batchSize = 200;
+
+    /**
+     * 无消息时阻塞等待时间，单位毫秒
+     */
+    private Long blockMillis = 2000L;
+
+    /**
+     * 消息流最大长度，超过后近似裁剪最早的消息
+     */
+    private Long maxLength = 1000000L;
+
+    /**
+     * 待确认消息空闲超过该时间视为消费者已下线，由其它消费者认领，单位毫秒
+     */
+    private Long claimMinIdle = 60000L;
+
+    /**
+     * 单条消息最大投递次数，超过后转入死信消息流
+     */
+    private Long maxDeliveries = 5L;
+}
@@ -0,0 +1,24 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接当日访问计数配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.today")
+public class ShortLinkStatsTodayConfiguration {
+
+    /**
+     * 前一日 Redis 当日计数归档到 t_link_stats_today 的执行时间
+     */
+    private String compactCron = "0 10 0 * * ?";
+
+    /**
+     * 单条归档 SQL 的最大行数
+     */
+    private Integer compactBatchSize = 500;
+}
@@ -0,0 +1,24 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接累计访问计数延迟落库配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.total")
+public class ShortLinkStatsTotalConfiguration {
+
+    /**
+     * 累计计数增量落库间隔，单位毫秒
+     */
+    private Long flushInterval = 10000L;
+
+    /**
+     * 单条批量更新 SQL 的最大短链接数量
+     */
+    private Integer updateBatchSize = 500;
+}
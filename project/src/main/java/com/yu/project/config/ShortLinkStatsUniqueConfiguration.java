@@ -0,0 +1,24 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接 UV、UIP 基数估计配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.unique")
+public class ShortLinkStatsUniqueConfiguration {
+
+    /**
+     * 每日基数估计保留天数，超过后按日期区间统计的 UV、UIP 不再可用
+     */
+    private Integer dailyRetentionDays = 400;
+
+    /**
+     * 单次 PFCOUNT 合并的最大 Key 数量，超过后先分批 PFMERGE 到临时 Key 再计数
+     */
+    private Integer maxCountKeys = 512;
+}
@@ -0,0 +1,43 @@
+package com.yu.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接后缀生成配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.suffix")
+public class ShortLinkSuffixConfiguration {
+
+    /**
+     * 后缀生成方式 segment：号段分配 hash：哈希加布隆过滤器判重
+     */
+    private String generator = "segment";
+
+    /**
+     * 号段分配配置
+     */
+    private Segment segment = new Segment();
+
+    @Data
+    public static class Segment {
+
+        /**
+         * 单次从数据库号段表申请的号段长度
+         */
+        private Long step = 1000L;
+
+        /**
+         * 当前号段剩余比例低于该值时异步预取下一号段
+         */
+        private Double prefetchRatio = 0.2;
+
+        /**
+         * 号段 ID 置乱密钥，上线后不可修改
+         */
+        private Long shuffleKey = 0L;
+    }
+}
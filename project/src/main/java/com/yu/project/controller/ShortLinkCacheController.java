@@ -0,0 +1,54 @@
+package com.yu.project.controller;
+
+import com.yu.project.common.bloom.ShortUriBloomFilterRebuilder;
+import com.yu.project.common.cache.ShortLinkGotoLocalCache;
+import com.yu.project.common.cache.ShortLinkHotKeyDetector;
+import com.yu.project.common.convention.result.Result;
+import com.yu.project.common.convention.result.Results;
+import com.yu.project.dto.resp.ShortLinkHotKeyRespDTO;
+import com.yu.project.dto.resp.ShortLinkLocalCacheStatsRespDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 短链接缓存控制层
+ */
+@RestController
+@RequiredArgsConstructor
+public class ShortLinkCacheController {
+
+	private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+
+	private final ShortLinkHotKeyDetector shortLinkHotKeyDetector;
+
+	private final ShortUriBloomFilterRebuilder shortUriBloomFilterRebuilder;
+
+	/**
+	 * 查询当前节点短链接跳转本地缓存统计
+	 */
+	@GetMapping("/api/short-link/v1/cache/local/stats")
+	public Result<ShortLinkLocalCacheStatsRespDTO> localCacheStats() {
+		return Results.success(shortLinkGotoLocalCache.stats());
+	}
+
+	/**
+	 * 查询当前节点热点短链接及估算 QPS
+	 */
+	@GetMapping("/api/short-link/v1/cache/hot-keys")
+	public Result<List<ShortLinkHotKeyRespDTO>> listHotKeys() {
+		return Results.success(shortLinkHotKeyDetector.listHotKeys());
+	}
+
+	/**
+	 * 在线重建短链接布隆过滤器
+	 */
+	@PostMapping("/api/short-link/v1/bloom-filter/rebuild")
+	public Result<Void> rebuildBloomFilter() {
+		shortUriBloomFilterRebuilder.rebuildAsync();
+		return Results.success();
+	}
+}
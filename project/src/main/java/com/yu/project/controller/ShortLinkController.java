@@ -4,23 +4,40 @@ import com.alibaba.csp.sentinel.annotation.SentinelResource;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.yu.project.common.convention.result.Result;
 import com.yu.project.common.convention.result.Results;
+import com.yu.project.dto.req.ShortLinkBatchCreateReqDTO;
 import com.yu.project.dto.req.ShortLinkCreateReqDTO;
 import com.yu.project.dto.req.ShortLinkPageReqDTO;
+import com.yu.project.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.yu.project.dto.resp.ShortLinkCreateRespDTO;
+import com.yu.project.dto.resp.ShortLinkCursorPageRespDTO;
+import com.yu.project.dto.resp.ShortLinkGroupCountQueryRespDTO;
 import com.yu.project.dto.resp.ShortLinkPageRespDTO;
 import com.yu.project.service.ShortLinkService;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 public class ShortLinkController {
 
 	private final ShortLinkService shortLinkService;
 
+	/**
+	 * 短链接跳转原始链接
+	 */
+	@GetMapping("/{short-uri}")
+	public void restoreUrl(@PathVariable("short-uri") String shortUri, ServletRequest request, ServletResponse response) {
+		shortLinkService.restoreUrl(shortUri, request, response);
+	}
 
 	/**
 	 * 创建短链接
@@ -30,6 +47,14 @@ public class ShortLinkController {
 		return Results.success(shortLinkService.createShortLink(requestParam));
 	}
 
+	/**
+	 * 批量创建短链接
+	 */
+	@PostMapping("/api/short-link/v1/create/batch")
+	public Result<ShortLinkBatchCreateRespDTO> batchCreateShortLink(@RequestBody ShortLinkBatchCreateReqDTO requestParam) {
+		return Results.success(shortLinkService.batchCreateShortLink(requestParam));
+	}
+
 	/**
 	 * 分页查询短链接
 	 */
@@ -37,4 +62,20 @@ public class ShortLinkController {
 	public Result<IPage<ShortLinkPageRespDTO>> pageShortLink(ShortLinkPageReqDTO requestParam) {
 		return Results.success(shortLinkService.pageShortLink(requestParam));
 	}
+
+	/**
+	 * 游标分页查询短链接
+	 */
+	@GetMapping("/api/short-link/v1/page/cursor")
+	public Result<ShortLinkCursorPageRespDTO<ShortLinkPageRespDTO>> cursorPageShortLink(ShortLinkPageReqDTO requestParam) {
+		return Results.success(shortLinkService.cursorPageShortLink(requestParam));
+	}
+
+	/**
+	 * 查询分组内短链接数量
+	 */
+	@GetMapping("/api/short-link/v1/count")
+	public Result<List<ShortLinkGroupCountQueryRespDTO>> listGroupShortLinkCount(@RequestParam("requestParam") List<String> requestParam) {
+		return Results.success(shortLinkService.listGroupShortLinkCount(requestParam));
+	}
 }
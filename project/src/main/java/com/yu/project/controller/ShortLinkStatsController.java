@@ -0,0 +1,73 @@
+package com.yu.project.controller;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.yu.project.common.convention.result.Result;
+import com.yu.project.common.convention.result.Results;
+import com.yu.project.dto.req.ShortLinkGroupStatsAccessRecordReqDTO;
+import com.yu.project.dto.req.ShortLinkStatsAccessRecordReqDTO;
+import com.yu.project.dto.req.ShortLinkStatsReqDTO;
+import com.yu.project.dto.resp.ShortLinkCursorPageRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsAccessRecordRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsRespDTO;
+import com.yu.project.service.ShortLinkStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 短链接监控控制层
+ */
+@RestController
+@RequiredArgsConstructor
+public class ShortLinkStatsController {
+
+	private final ShortLinkStatsService shortLinkStatsService;
+
+	/**
+	 * 访问单个短链接指定时间内监控数据
+	 */
+	@GetMapping("/api/short-link/v1/stats")
+	public Result<ShortLinkStatsRespDTO> shortLinkStats(ShortLinkStatsReqDTO requestParam) {
+		return Results.success(shortLinkStatsService.oneShortLinkStats(requestParam));
+	}
+
+	/**
+	 * 访问单个短链接指定时间内精确 UV
+	 */
+	@GetMapping("/api/short-link/v1/stats/uv/exact")
+	public Result<Long> shortLinkExactUv(ShortLinkStatsReqDTO requestParam) {
+		return Results.success(shortLinkStatsService.oneShortLinkExactUv(requestParam));
+	}
+
+	/**
+	 * 访问单个短链接指定时间内访问记录监控数据
+	 */
+	@GetMapping("/api/short-link/v1/stats/access-record")
+	public Result<IPage<ShortLinkStatsAccessRecordRespDTO>> shortLinkStatsAccessRecord(ShortLinkStatsAccessRecordReqDTO requestParam) {
+		return Results.success(shortLinkStatsService.shortLinkStatsAccessRecord(requestParam));
+	}
+
+	/**
+	 * 游标分页访问单个短链接指定时间内访问记录监控数据
+	 */
+	@GetMapping("/api/short-link/v1/stats/access-record/cursor")
+	public Result<ShortLinkCursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO>> cursorShortLinkStatsAccessRecord(ShortLinkStatsAccessRecordReqDTO requestParam) {
+		return Results.success(shortLinkStatsService.cursorShortLinkStatsAccessRecord(requestParam));
+	}
+
+	/**
+	 * 访问分组短链接指定时间内访问记录监控数据
+	 */
+	@GetMapping("/api/short-link/v1/stats/access-record/group")
+	public Result<IPage<ShortLinkStatsAccessRecordRespDTO>> groupShortLinkStatsAccessRecord(ShortLinkGroupStatsAccessRecordReqDTO requestParam) {
+		return Results.success(shortLinkStatsService.groupShortLinkStatsAccessRecord(requestParam));
+	}
+
+	/**
+	 * 游标分页访问分组短链接指定时间内访问记录监控数据
+	 */
+	@GetMapping("/api/short-link/v1/stats/access-record/group/cursor")
+	public Result<ShortLinkCursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO>> cursorGroupShortLinkStatsAccessRecord(ShortLinkGroupStatsAccessRecordReqDTO requestParam) {
+		return Results.success(shortLinkStatsService.cursorGroupShortLinkStatsAccessRecord(requestParam));
+	}
+}
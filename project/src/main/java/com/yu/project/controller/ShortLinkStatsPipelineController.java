@@ -0,0 +1,39 @@
+package com.yu.project.controller;
+
+import com.yu.project.common.convention.result.Result;
+import com.yu.project.common.convention.result.Results;
+import com.yu.project.common.stats.ShortLinkClickRingBuffer;
+import com.yu.project.common.stats.ShortLinkStatsAggregator;
+import com.yu.project.dto.resp.ShortLinkStatsAggregateMetricsRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsCaptureMetricsRespDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 短链接访问统计链路控制层
+ */
+@RestController
+@RequiredArgsConstructor
+public class ShortLinkStatsPipelineController {
+
+	private final ShortLinkClickRingBuffer shortLinkClickRingBuffer;
+
+	private final ShortLinkStatsAggregator shortLinkStatsAggregator;
+
+	/**
+	 * 查询当前节点访问采集缓冲区指标
+	 */
+	@GetMapping("/api/short-link/v1/stats/pipeline/capture")
+	public Result<ShortLinkStatsCaptureMetricsRespDTO> captureMetrics() {
+		return Results.success(shortLinkClickRingBuffer.metrics());
+	}
+
+	/**
+	 * 查询当前节点访问统计预聚合缓冲区指标
+	 */
+	@GetMapping("/api/short-link/v1/stats/pipeline/aggregate")
+	public Result<ShortLinkStatsAggregateMetricsRespDTO> aggregateMetrics() {
+		return Results.success(shortLinkStatsAggregator.metrics());
+	}
+}
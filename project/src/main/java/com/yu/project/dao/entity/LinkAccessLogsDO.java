@@ -66,4 +66,9 @@ public class LinkAccessLogsDO extends BaseDO {
      * 地区
      */
     private String locale;
+
+    /**
+     * 消息标识，取访问统计消息流的消息 ID，唯一索引 idx_unique_msg_id 保证重新投递时访问日志不重复写入
+     */
+    private String msgId;
 }
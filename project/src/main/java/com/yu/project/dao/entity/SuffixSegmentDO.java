@@ -0,0 +1,33 @@
+package com.yu.project.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.yu.project.common.database.BaseDO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接后缀号段实体
+ * 建表语句：CREATE TABLE t_suffix_segment (biz_tag VARCHAR(64) NOT NULL, max_id BIGINT NOT NULL, create_time DATETIME, update_time DATETIME,
+ * del_flag TINYINT(1), PRIMARY KEY (biz_tag))，不分表
+ */
+@TableName("t_suffix_segment")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuffixSegmentDO extends BaseDO {
+
+    /**
+     * 业务标识
+     */
+    @TableId
+    private String bizTag;
+
+    /**
+     * 已分配出去的最大 ID
+     */
+    private Long maxId;
+}
@@ -0,0 +1,124 @@
+package com.yu.project.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.yu.project.dao.entity.LinkAccessLogsDO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 访问日志监控持久层
+ */
+@Mapper
+public interface LinkAccessLogsMapper extends BaseMapper<LinkAccessLogsDO> {
+
+    /**
+     * 批量记录访问日志，消息标识唯一索引冲突时忽略，重新投递的消息不会重复写入
+     *
+     * @param list 访问日志集合
+     */
+    @Insert("""
+            <script>
+            INSERT IGNORE INTO t_link_access_logs (full_short_url, gid, user, browser, os, ip, network, device, locale, msg_id, create_time, update_time, del_flag)
+            VALUES
+            <foreach collection="list" item="item" separator=",">
+            (#{item.fullShortUrl}, #{item.gid}, #{item.user}, #{item.browser}, #{item.os}, #{item.ip}, #{item.network}, #{item.device}, #{item.locale}, #{item.msgId}, #{item.createTime}, NOW(), 0)
+            </foreach>
+            </script>
+            """)
+    void insertIgnoreBatch(@Param("list") List<LinkAccessLogsDO> list);
+
+    /**
+     * 获取用户信息是否新老访客，首次访问时间在查询区间内为新访客
+     *
+     * @param gid          分组标识
+     * @param fullShortUrl 完整短链接，为空时按分组统计
+     * @param startDate    开始时间
+     * @param endDate      结束时间（不含）
+     * @param userList     用户信息集合
+     * @return 用户信息与访客类型
+     */
+    @Select("""
+            <script>
+            SELECT user,
+            CASE WHEN MIN(create_time) &gt;= #{startDate} AND MIN(create_time) &lt; #{endDate} THEN '新访客' ELSE '老访客' END AS uvType
+            FROM t_link_access_logs
+            WHERE gid = #{gid}
+            <if test="fullShortUrl != null">
+            AND full_short_url = #{fullShortUrl}
+            </if>
+            AND user IN
+            <foreach collection="userList" item="item" open="(" separator="," close=")">
+            #{item}
+            </foreach>
+            GROUP BY user
+            </script>
+            """)
+    List<Map<String, Object>> selectUvTypeByUsers(@Param("gid") String gid,
+                                                  @Param("fullShortUrl") String fullShortUrl,
+                                                  @Param("startDate") Date startDate,
+                                                  @Param("endDate") Date endDate,
+                                                  @Param("userList") List<String> userList);
+
+    /**
+     * 查询访问次数最多的 IP
+     *
+     * @param gid          分组标识
+     * @param fullShortUrl 完整短链接
+     * @param startTime    开始时间（包含）
+     * @param endTime      结束时间（不包含）
+     * @return 访问次数最多的 IP
+     */
+    @Select("""
+            <script>
+            SELECT ip, COUNT(*) AS cnt
+            FROM t_link_access_logs
+            WHERE gid = #{gid}
+            AND full_short_url = #{fullShortUrl}
+            AND create_time &gt;= #{startTime}
+            AND create_time &lt; #{endTime}
+            AND del_flag = 0
+            GROUP BY ip
+            ORDER BY cnt DESC
+            LIMIT 5
+            </script>
+            """)
+    List<Map<String, Object>> listTopIp(@Param("gid") String gid,
+                                        @Param("fullShortUrl") String fullShortUrl,
+                                        @Param("startTime") Date startTime,
+                                        @Param("endTime") Date endTime);
+
+    /**
+     * 查询时间范围内新访客与老访客数量，首次访问在时间范围内的为新访客
+     *
+     * @param gid          分组标识
+     * @param fullShortUrl 完整短链接
+     * @param startTime    开始时间（包含）
+     * @param endTime      结束时间（不包含）
+     * @return 新访客数量 newUserCnt 与老访客数量 oldUserCnt
+     */
+    @Select("""
+            <script>
+            SELECT IFNULL(SUM(first_time &gt;= #{startTime}), 0) AS newUserCnt, IFNULL(SUM(first_time &lt; #{startTime}), 0) AS oldUserCnt
+            FROM (
+                SELECT MIN(create_time) AS first_time
+                FROM t_link_access_logs
+                WHERE gid = #{gid}
+                AND full_short_url = #{fullShortUrl}
+                AND create_time &lt; #{endTime}
+                AND del_flag = 0
+                GROUP BY user
+                HAVING MAX(create_time) &gt;= #{startTime}
+            ) AS t
+            </script>
+            """)
+    Map<String, Object> selectUvTypeCount(@Param("gid") String gid,
+                                          @Param("fullShortUrl") String fullShortUrl,
+                                          @Param("startTime") Date startTime,
+                                          @Param("endTime") Date endTime);
+}
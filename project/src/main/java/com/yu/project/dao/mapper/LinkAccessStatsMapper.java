@@ -0,0 +1,141 @@
+package com.yu.project.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.yu.project.dao.entity.LinkAccessStatsDO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 基础访问统计持久层
+ */
+@Mapper
+public interface LinkAccessStatsMapper extends BaseMapper<LinkAccessStatsDO> {
+
+    /**
+     * 批量记录基础访问统计，唯一索引冲突时累加
+     *
+     * @param list 基础访问统计集合
+     */
+    @Insert("""
+            <script>
+            INSERT INTO t_link_access_stats (full_short_url, gid, date, pv, uv, uip, hour, weekday, create_time, update_time, del_flag)
+            VALUES
+            <foreach collection="list" item="item" separator=",">
+            (#{item.fullShortUrl}, #{item.gid}, #{item.date}, #{item.pv}, #{item.uv}, #{item.uip}, #{item.hour}, #{item.weekday}, NOW(), NOW(), 0)
+            </foreach>
+            ON DUPLICATE KEY UPDATE pv = pv + VALUES(pv), uv = uv + VALUES(uv), uip = uip + VALUES(uip), update_time = NOW()
+            </script>
+            """)
+    void shortLinkStatsBatch(@Param("list") List<LinkAccessStatsDO> list);
+
+    /**
+     * 汇总时间范围内的访问次数，作为访问日志分页的近似总数
+     *
+     * @param gid          分组标识
+     * @param fullShortUrl 完整短链接，为空时汇总整个分组
+     * @param startTime    开始时间（包含）
+     * @param endTime      结束时间（不包含）
+     * @return 访问次数
+     */
+    @Select("""
+            <script>
+            SELECT IFNULL(SUM(pv), 0)
+            FROM t_link_access_stats
+            WHERE gid = #{gid}
+            <if test="fullShortUrl != null">
+            AND full_short_url = #{fullShortUrl}
+            </if>
+            AND date &gt;= #{startTime}
+            AND date &lt; #{endTime}
+            AND del_flag = 0
+            </script>
+            """)
+    Long sumPv(@Param("gid") String gid,
+               @Param("fullShortUrl") String fullShortUrl,
+               @Param("startTime") Date startTime,
+               @Param("endTime") Date endTime);
+
+    /**
+     * 查询按日汇总的访问统计
+     *
+     * @param gid          分组标识
+     * @param fullShortUrl 完整短链接
+     * @param startTime    开始时间（包含）
+     * @param endTime      结束时间（不包含）
+     * @return 按日汇总的访问统计
+     */
+    @Select("""
+            <script>
+            SELECT date, SUM(pv) AS pv, SUM(uv) AS uv, SUM(uip) AS uip
+            FROM t_link_access_stats
+            WHERE gid = #{gid}
+            AND full_short_url = #{fullShortUrl}
+            AND date &gt;= #{startTime}
+            AND date &lt; #{endTime}
+            AND del_flag = 0
+            GROUP BY date
+            ORDER BY date
+            </script>
+            """)
+    List<LinkAccessStatsDO> listDailyStats(@Param("gid") String gid,
+                                           @Param("fullShortUrl") String fullShortUrl,
+                                           @Param("startTime") Date startTime,
+                                           @Param("endTime") Date endTime);
+
+    /**
+     * 查询按小时汇总的访问次数
+     *
+     * @param gid          分组标识
+     * @param fullShortUrl 完整短链接
+     * @param startTime    开始时间（包含）
+     * @param endTime      结束时间（不包含）
+     * @return 按小时汇总的访问次数
+     */
+    @Select("""
+            <script>
+            SELECT hour, SUM(pv) AS pv
+            FROM t_link_access_stats
+            WHERE gid = #{gid}
+            AND full_short_url = #{fullShortUrl}
+            AND date &gt;= #{startTime}
+            AND date &lt; #{endTime}
+            AND del_flag = 0
+            GROUP BY hour
+            </script>
+            """)
+    List<LinkAccessStatsDO> listHourStats(@Param("gid") String gid,
+                                          @Param("fullShortUrl") String fullShortUrl,
+                                          @Param("startTime") Date startTime,
+                                          @Param("endTime") Date endTime);
+
+    /**
+     * 查询按星期汇总的访问次数
+     *
+     * @param gid          分组标识
+     * @param fullShortUrl 完整短链接
+     * @param startTime    开始时间（包含）
+     * @param endTime      结束时间（不包含）
+     * @return 按星期汇总的访问次数
+     */
+    @Select("""
+            <script>
+            SELECT weekday, SUM(pv) AS pv
+            FROM t_link_access_stats
+            WHERE gid = #{gid}
+            AND full_short_url = #{fullShortUrl}
+            AND date &gt;= #{startTime}
+            AND date &lt; #{endTime}
+            AND del_flag = 0
+            GROUP BY weekday
+            </script>
+            """)
+    List<LinkAccessStatsDO> listWeekdayStats(@Param("gid") String gid,
+                                             @Param("fullShortUrl") String fullShortUrl,
+                                             @Param("startTime") Date startTime,
+                                             @Param("endTime") Date endTime);
+}
@@ -0,0 +1,61 @@
+package com.yu.project.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.yu.project.dao.entity.LinkDeviceStatsDO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 访问设备统计持久层
+ */
+@Mapper
+public interface LinkDeviceStatsMapper extends BaseMapper<LinkDeviceStatsDO> {
+
+    /**
+     * 批量记录访问设备统计，唯一索引冲突时累加
+     *
+     * @param list 访问设备统计集合
+     */
+    @Insert("""
+            <script>
+            INSERT INTO t_link_device_stats (full_short_url, gid, date, cnt, device, create_time, update_time, del_flag)
+            VALUES
+            <foreach collection="list" item="item" separator=",">
+            (#{item.fullShortUrl}, #{item.gid}, #{item.date}, #{item.cnt}, #{item.device}, NOW(), NOW(), 0)
+            </foreach>
+            ON DUPLICATE KEY UPDATE cnt = cnt + VALUES(cnt), update_time = NOW()
+            </script>
+            """)
+    void shortLinkStatsBatch(@Param("list") List<LinkDeviceStatsDO> list);
+
+    /**
+     * 查询按访问设备汇总的访问次数
+     *
+     * @param gid          分组标识
+     * @param fullShortUrl 完整短链接
+     * @param startTime    开始时间（包含）
+     * @param endTime      结束时间（不包含）
+     * @return 按访问设备汇总的访问次数
+     */
+    @Select("""
+            <script>
+            SELECT device, SUM(cnt) AS cnt
+            FROM t_link_device_stats
+            WHERE gid = #{gid}
+            AND full_short_url = #{fullShortUrl}
+            AND date &gt;= #{startTime}
+            AND date &lt; #{endTime}
+            AND del_flag = 0
+            GROUP BY device
+            </script>
+            """)
+    List<LinkDeviceStatsDO> listDeviceStats(@Param("gid") String gid,
+                                            @Param("fullShortUrl") String fullShortUrl,
+                                            @Param("startTime") Date startTime,
+                                            @Param("endTime") Date endTime);
+}
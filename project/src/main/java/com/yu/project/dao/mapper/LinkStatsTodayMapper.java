@@ -0,0 +1,33 @@
+package com.yu.project.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.yu.project.dao.entity.LinkStatsTodayDO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 短链接今日统计持久层
+ */
+@Mapper
+public interface LinkStatsTodayMapper extends BaseMapper<LinkStatsTodayDO> {
+
+    /**
+     * 批量归档短链接单日统计，唯一索引冲突时以归档值覆盖
+     *
+     * @param list 短链接单日统计集合
+     */
+    @Insert("""
+            <script>
+            INSERT INTO t_link_stats_today (gid, full_short_url, date, today_pv, today_uv, today_uip, create_time, update_time, del_flag)
+            VALUES
+            <foreach collection="list" item="item" separator=",">
+            (#{item.gid}, #{item.fullShortUrl}, #{item.date}, #{item.todayPv}, #{item.todayUv}, #{item.todayUip}, NOW(), NOW(), 0)
+            </foreach>
+            ON DUPLICATE KEY UPDATE today_pv = VALUES(today_pv), today_uv = VALUES(today_uv), today_uip = VALUES(today_uip), update_time = NOW()
+            </script>
+            """)
+    void compactStatsBatch(@Param("list") List<LinkStatsTodayDO> list);
+}
@@ -5,6 +5,9 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.yu.project.dao.entity.ShortLinkDO;
 import com.yu.project.dto.req.ShortLinkPageReqDTO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * @author yu
@@ -21,4 +24,23 @@ public interface ShortLinkMapper extends BaseMapper<ShortLinkDO> {
 	 * @return
 	 */
 	IPage<ShortLinkDO> pageLink(ShortLinkPageReqDTO requestParam);
+
+	/**
+	 * 按物理分表游标扫描完整短链接
+	 *
+	 * @param shardIndex 分表下标
+	 * @param lastId     上一批最大 ID
+	 * @param limit      扫描行数
+	 * @return 短链接 ID 与完整短链接
+	 */
+	List<ShortLinkDO> listFullShortUrlByShard(@Param("shardIndex") int shardIndex, @Param("lastId") long lastId, @Param("limit") int limit);
+
+	/**
+	 * 按分组批量累加短链接累计访问计数
+	 *
+	 * @param gid    分组标识
+	 * @param deltas 完整短链接及各项计数增量
+	 * @return 更新行数
+	 */
+	int incrementStatsBatch(@Param("gid") String gid, @Param("list") List<ShortLinkDO> deltas);
 }
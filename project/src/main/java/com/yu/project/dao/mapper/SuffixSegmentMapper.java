@@ -0,0 +1,44 @@
+package com.yu.project.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.yu.project.dao.entity.SuffixSegmentDO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 短链接后缀号段持久层
+ */
+@Mapper
+public interface SuffixSegmentMapper extends BaseMapper<SuffixSegmentDO> {
+
+    /**
+     * 号段记录不存在时以指定起点创建，已存在时保持不变
+     *
+     * @param bizTag 业务标识
+     * @param maxId  起点
+     */
+    @Insert("INSERT IGNORE INTO t_suffix_segment (biz_tag, max_id, create_time, update_time, del_flag) VALUES (#{bizTag}, #{maxId}, NOW(), NOW(), 0)")
+    void initSegment(@Param("bizTag") String bizTag, @Param("maxId") long maxId);
+
+    /**
+     * 推进已分配的最大 ID，行锁保证多个节点租用的号段互不重叠
+     *
+     * @param bizTag 业务标识
+     * @param step   号段长度
+     * @return 更新行数
+     */
+    @Update("UPDATE t_suffix_segment SET max_id = max_id + #{step}, update_time = NOW() WHERE biz_tag = #{bizTag}")
+    int increaseMaxId(@Param("bizTag") String bizTag, @Param("step") long step);
+
+    /**
+     * 查询已分配的最大 ID
+     *
+     * @param bizTag 业务标识
+     * @return 已分配的最大 ID
+     */
+    @Select("SELECT max_id FROM t_suffix_segment WHERE biz_tag = #{bizTag}")
+    Long selectMaxId(@Param("bizTag") String bizTag);
+}
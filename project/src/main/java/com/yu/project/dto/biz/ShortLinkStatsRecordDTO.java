@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Date;
+
 /**
  * 短链接统计实体
  */
@@ -19,6 +21,11 @@ public class ShortLinkStatsRecordDTO {
      */
     private String fullShortUrl;
 
+    /**
+     * 分组标识
+     */
+    private String gid;
+
     /**
      * 访问用户IP
      */
@@ -58,4 +65,14 @@ public class ShortLinkStatsRecordDTO {
      * UIP访问标识
      */
     private Boolean uipFirstFlag;
+
+    /**
+     * 访问时间
+     */
+    private Date currentDate;
+
+    /**
+     * 消息标识，消费时取消息流的消息 ID
+     */
+    private String msgId;
 }
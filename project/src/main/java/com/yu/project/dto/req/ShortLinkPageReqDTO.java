@@ -19,4 +19,14 @@ public class ShortLinkPageReqDTO extends Page<ShortLinkDO> {
      * 排序标识
      */
     private String orderTag;
+
+    /**
+     * 游标分页续传标识，游标分页第一页不传，之后传上一页返回的续传标识
+     */
+    private String cursor;
+
+    /**
+     * 客户端已知的总数，传入时不再统计总数，直接作为分页结果的总数返回
+     */
+    private Long knownTotal;
 }
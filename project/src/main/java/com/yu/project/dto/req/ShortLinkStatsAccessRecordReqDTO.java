@@ -29,4 +29,19 @@ public class ShortLinkStatsAccessRecordReqDTO extends Page<LinkAccessLogsDO> {
      * 结束日期
      */
     private String endDate;
+
+    /**
+     * 游标分页续传标识，游标分页第一页不传，之后传上一页返回的续传标识
+     */
+    private String cursor;
+
+    /**
+     * 是否使用近似总数，访问日志分页时按访问统计表汇总的 PV 作为总数，不再对访问日志执行 COUNT
+     */
+    private Boolean approximateCount;
+
+    /**
+     * 客户端已知的总数，传入时不再统计总数，直接作为分页结果的总数返回
+     */
+    private Long knownTotal;
 }
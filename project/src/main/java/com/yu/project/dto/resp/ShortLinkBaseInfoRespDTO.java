@@ -28,4 +28,9 @@ public class ShortLinkBaseInfoRespDTO {
      * 短链接
      */
     private String fullShortUrl;
+
+    /**
+     * 创建失败原因，创建成功为空
+     */
+    private String failReason;
 }
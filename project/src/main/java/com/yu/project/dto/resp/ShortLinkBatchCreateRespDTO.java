@@ -25,4 +25,9 @@ public class ShortLinkBatchCreateRespDTO {
      * 批量创建返回参数
      */
     private List<ShortLinkBaseInfoRespDTO> baseLinkInfos;
+
+    /**
+     * 创建失败的短链接信息
+     */
+    private List<ShortLinkBaseInfoRespDTO> failLinkInfos;
 }
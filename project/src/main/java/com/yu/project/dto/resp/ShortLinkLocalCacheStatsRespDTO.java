@@ -0,0 +1,56 @@
+package com.yu.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接跳转本地缓存统计响应参数
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortLinkLocalCacheStatsRespDTO {
+
+    /**
+     * 缓存条目数
+     */
+    private Long size;
+
+    /**
+     * 当前占用，单位：字节
+     */
+    private Long weight;
+
+    /**
+     * 最大占用，单位：字节
+     */
+    private Long maximumWeight;
+
+    /**
+     * 命中次数
+     */
+    private Long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    private Long missCount;
+
+    /**
+     * 命中率
+     */
+    private Double hitRate;
+
+    /**
+     * 淘汰条目数
+     */
+    private Long evictionCount;
+
+    /**
+     * 淘汰占用，单位：字节
+     */
+    private Long evictionWeight;
+}
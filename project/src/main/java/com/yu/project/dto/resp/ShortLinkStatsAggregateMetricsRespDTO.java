@@ -0,0 +1,41 @@
+package com.yu.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接访问统计预聚合缓冲区指标响应参数
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortLinkStatsAggregateMetricsRespDTO {
+
+    /**
+     * 当前缓冲区统计行数
+     */
+    private Integer entries;
+
+    /**
+     * 缓冲区最大统计行数
+     */
+    private Integer maxEntries;
+
+    /**
+     * 落库失败次数
+     */
+    private Long flushFailed;
+
+    /**
+     * 落库失败合并回缓冲区时超过上限被丢弃的统计行数
+     */
+    private Long droppedRows;
+
+    /**
+     * 被丢弃统计行包含的访问次数
+     */
+    private Long droppedPv;
+}
@@ -0,0 +1,51 @@
+package com.yu.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接访问采集缓冲区指标响应参数
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortLinkStatsCaptureMetricsRespDTO {
+
+    /**
+     * 缓冲区容量
+     */
+    private Integer capacity;
+
+    /**
+     * 缓冲区当前积压事件数
+     */
+    private Long depth;
+
+    /**
+     * 累计写入事件数
+     */
+    private Long published;
+
+    /**
+     * 累计发送事件数
+     */
+    private Long consumed;
+
+    /**
+     * 缓冲区满被丢弃的事件数
+     */
+    private Long dropped;
+
+    /**
+     * 发送失败的事件数
+     */
+    private Long sendFailed;
+
+    /**
+     * 最近一次发送的事件从写入到发送的延迟，单位毫秒
+     */
+    private Long consumerLagMillis;
+}
@@ -0,0 +1,191 @@
+package com.yu.project.mq.consumer;
+
+import cn.hutool.core.net.NetUtil;
+import cn.hutool.core.util.RuntimeUtil;
+import com.yu.project.config.ShortLinkStatsStreamConfiguration;
+import com.yu.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.yu.project.mq.producer.ShortLinkStatsSaveProducer;
+import com.yu.project.service.ShortLinkStatsSaveService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.yu.project.common.constant.RedisKeyConstant.DELAY_QUEUE_STATS_DEAD_LETTER_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.DELAY_QUEUE_STATS_KEY;
+
+/**
+ * 短链接访问统计消息消费者
+ * 多个消费线程以消费者组方式批量读取 Redis Stream，整批落库成功后一次性确认；
+ * 定时扫描待确认列表，认领已下线消费者长时间未确认的消息，超过最大投递次数的消息转入死信消息流
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsSaveConsumer {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ShortLinkStatsSaveService shortLinkStatsSaveService;
+
+    private final ShortLinkStatsStreamConfiguration streamConfiguration;
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running = true;
+
+    private String consumerPrefix;
+
+    @PostConstruct
+    public void start() {
+        createGroupIfAbsent();
+        consumerPrefix = NetUtil.getLocalHostName() + "-" + RuntimeUtil.getPid();
+        for (int i = 0; i < streamConfiguration.getConsumerThreads(); i++) {
+            String consumerName = consumerPrefix + "-" + i;
+            Thread worker = new Thread(() -> consume(consumerName), "short-link_stats-consumer_" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Thread each : workers) {
+            try {
+                each.join(streamConfiguration.getBlockMillis() * 2);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void consume(String consumerName) {
+        StreamOperations<String, String, String> streamOperations = stringRedisTemplate.opsForStream();
+        Consumer consumer = Consumer.from(streamConfiguration.getGroup(), consumerName);
+        StreamReadOptions readOptions = StreamReadOptions.empty()
+                .count(streamConfiguration.getBatchSize())
+                .block(Duration.ofMillis(streamConfiguration.getBlockMillis()));
+        StreamOffset<String> offset = StreamOffset.create(DELAY_QUEUE_STATS_KEY, ReadOffset.lastConsumed());
+        while (running) {
+            try {
+                List<MapRecord<String, String, String>> records = streamOperations.read(consumer, readOptions, offset);
+                if (records != null && !records.isEmpty()) {
+                    handle(records);
+                }
+            } catch (Exception ex) {
+                log.error("短链接访问统计消息消费异常，消费者：{}", consumerName, ex);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * 整批落库后一次性确认，落库失败时消息留在待确认列表等待重新认领
+     * 消息 ID 随访问事件写入访问日志，重新认领的消息不会重复写入访问日志
+     */
+    private void handle(List<MapRecord<String, String, String>> records) {
+        List<ShortLinkStatsRecordDTO> statsRecords = new ArrayList<>(records.size());
+        for (MapRecord<String, String, String> each : records) {
+            try {
+                ShortLinkStatsRecordDTO statsRecord = ShortLinkStatsSaveProducer.decode(each.getValue());
+                statsRecord.setMsgId(each.getId().getValue());
+                statsRecords.add(statsRecord);
+            } catch (Exception ex) {
+                log.warn("短链接访问统计消息格式错误，已忽略：{}", each.getId(), ex);
+            }
+        }
+        shortLinkStatsSaveService.saveStatsBatch(statsRecords);
+        RecordId[] recordIds = records.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+        stringRedisTemplate.opsForStream().acknowledge(DELAY_QUEUE_STATS_KEY, streamConfiguration.getGroup(), recordIds);
+    }
+
+    /**
+     * 认领长时间未确认的消息
+     */
+    @Scheduled(fixedDelay = 30000L, initialDelay = 30000L)
+    public void reclaimPending() {
+        StreamOperations<String, String, String> streamOperations = stringRedisTemplate.opsForStream();
+        Duration minIdle = Duration.ofMillis(streamConfiguration.getClaimMinIdle());
+        String claimer = consumerPrefix + "-0";
+        try {
+            PendingMessages pendingMessages = streamOperations.pending(DELAY_QUEUE_STATS_KEY, streamConfiguration.getGroup(),
+                    Range.unbounded(), streamConfiguration.getBatchSize());
+            List<RecordId> claimIds = new ArrayList<>();
+            List<RecordId> deadLetterIds = new ArrayList<>();
+            for (PendingMessage each : pendingMessages) {
+                if (each.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+                    continue;
+                }
+                if (each.getTotalDeliveryCount() >= streamConfiguration.getMaxDeliveries()) {
+                    deadLetterIds.add(each.getId());
+                } else {
+                    claimIds.add(each.getId());
+                }
+            }
+            if (!deadLetterIds.isEmpty()) {
+                List<MapRecord<String, String, String>> deadRecords = streamOperations.claim(DELAY_QUEUE_STATS_KEY, streamConfiguration.getGroup(),
+                        claimer, minIdle, deadLetterIds.toArray(RecordId[]::new));
+                deadRecords.forEach(each -> streamOperations.add(StreamRecords.newRecord().in(DELAY_QUEUE_STATS_DEAD_LETTER_KEY).ofMap(each.getValue())));
+                streamOperations.acknowledge(DELAY_QUEUE_STATS_KEY, streamConfiguration.getGroup(), deadLetterIds.toArray(RecordId[]::new));
+                log.warn("短链接访问统计消息超过最大投递次数，已转入死信消息流，数量：{}", deadLetterIds.size());
+            }
+            if (!claimIds.isEmpty()) {
+                List<MapRecord<String, String, String>> claimed = streamOperations.claim(DELAY_QUEUE_STATS_KEY, streamConfiguration.getGroup(),
+                        claimer, minIdle, claimIds.toArray(RecordId[]::new));
+                if (!claimed.isEmpty()) {
+                    log.info("认领短链接访问统计待确认消息，数量：{}", claimed.size());
+                    handle(claimed);
+                }
+            }
+        } catch (Exception ex) {
+            log.error("认领短链接访问统计待确认消息异常", ex);
+        }
+    }
+
+    /**
+     * 创建消费者组，消息流不存在时一并创建
+     */
+    private void createGroupIfAbsent() {
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands().xGroupCreate(
+                    stringRedisTemplate.getStringSerializer().serialize(DELAY_QUEUE_STATS_KEY),
+                    streamConfiguration.getGroup(), ReadOffset.from("0"), true));
+        } catch (RedisSystemException ex) {
+            //消费者组已存在
+            Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+            if (cause.getMessage() == null || !cause.getMessage().contains("BUSYGROUP")) {
+                throw ex;
+            }
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(1000L);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
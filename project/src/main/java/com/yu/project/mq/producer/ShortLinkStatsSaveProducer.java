@@ -0,0 +1,120 @@
+package com.yu.project.mq.producer;
+
+import com.yu.project.config.ShortLinkStatsStreamConfiguration;
+import com.yu.project.dto.biz.ShortLinkStatsRecordDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.yu.project.common.constant.RedisKeyConstant.DELAY_QUEUE_STATS_KEY;
+
+/**
+ * 短链接访问统计消息生产者
+ * 访问事件写入 Redis Stream，统计计算与落库由消费者组异步完成
+ */
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsSaveProducer {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ShortLinkStatsStreamConfiguration streamConfiguration;
+
+    /**
+     * 发送访问统计消息
+     *
+     * @param statsRecord 访问统计事件
+     */
+    public void send(ShortLinkStatsRecordDTO statsRecord) {
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        Map<byte[], byte[]> body = new HashMap<>(16);
+        encode(statsRecord).forEach((key, value) -> body.put(serializer.serialize(key), serializer.serialize(value)));
+        MapRecord<byte[], byte[], byte[]> record = StreamRecords.rawBytes(body)
+                .withStreamKey(serializer.serialize(DELAY_QUEUE_STATS_KEY));
+        RedisStreamCommands.XAddOptions options = RedisStreamCommands.XAddOptions
+                .maxlen(streamConfiguration.getMaxLength())
+                .approximateTrimming(true);
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> connection.streamCommands().xAdd(record, options));
+    }
+
+    /**
+     * 批量发送访问统计消息，一次管道请求写入
+     *
+     * @param statsRecords 访问统计事件集合
+     */
+    public void sendBatch(List<ShortLinkStatsRecordDTO> statsRecords) {
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        byte[] streamKey = serializer.serialize(DELAY_QUEUE_STATS_KEY);
+        RedisStreamCommands.XAddOptions options = RedisStreamCommands.XAddOptions
+                .maxlen(streamConfiguration.getMaxLength())
+                .approximateTrimming(true);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (ShortLinkStatsRecordDTO each : statsRecords) {
+                Map<byte[], byte[]> body = new HashMap<>(16);
+                encode(each).forEach((key, value) -> body.put(serializer.serialize(key), serializer.serialize(value)));
+                connection.streamCommands().xAdd(StreamRecords.rawBytes(body).withStreamKey(streamKey), options);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 访问事件编码为紧凑的消息字段，只写入非空字段
+     */
+    public static Map<String, String> encode(ShortLinkStatsRecordDTO statsRecord) {
+        Map<String, String> fields = new HashMap<>(16);
+        putIfNotNull(fields, "u", statsRecord.getFullShortUrl());
+        putIfNotNull(fields, "g", statsRecord.getGid());
+        putIfNotNull(fields, "ip", statsRecord.getRemoteAddr());
+        putIfNotNull(fields, "os", statsRecord.getOs());
+        putIfNotNull(fields, "br", statsRecord.getBrowser());
+        putIfNotNull(fields, "dv", statsRecord.getDevice());
+        putIfNotNull(fields, "nw", statsRecord.getNetwork());
+        putIfNotNull(fields, "uv", statsRecord.getUv());
+        if (statsRecord.getUvFirstFlag() != null) {
+            fields.put("fuv", statsRecord.getUvFirstFlag() ? "1" : "0");
+        }
+        if (statsRecord.getUipFirstFlag() != null) {
+            fields.put("fip", statsRecord.getUipFirstFlag() ? "1" : "0");
+        }
+        fields.put("ts", String.valueOf(statsRecord.getCurrentDate() == null ? System.currentTimeMillis() : statsRecord.getCurrentDate().getTime()));
+        return fields;
+    }
+
+    /**
+     * 消息字段解码为访问事件
+     */
+    public static ShortLinkStatsRecordDTO decode(Map<String, String> fields) {
+        String uvFirstFlag = fields.get("fuv");
+        String uipFirstFlag = fields.get("fip");
+        return ShortLinkStatsRecordDTO.builder()
+                .fullShortUrl(fields.get("u"))
+                .gid(fields.get("g"))
+                .remoteAddr(fields.get("ip"))
+                .os(fields.get("os"))
+                .browser(fields.get("br"))
+                .device(fields.get("dv"))
+                .network(fields.get("nw"))
+                .uv(fields.get("uv"))
+                .uvFirstFlag(uvFirstFlag == null ? null : "1".equals(uvFirstFlag))
+                .uipFirstFlag(uipFirstFlag == null ? null : "1".equals(uipFirstFlag))
+                .currentDate(new Date(Long.parseLong(fields.get("ts"))))
+                .build();
+    }
+
+    private static void putIfNotNull(Map<String, String> fields, String key, String value) {
+        if (value != null) {
+            fields.put(key, value);
+        }
+    }
+}
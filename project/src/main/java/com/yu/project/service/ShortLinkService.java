@@ -3,10 +3,18 @@ package com.yu.project.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.yu.project.dao.entity.ShortLinkDO;
+import com.yu.project.dto.req.ShortLinkBatchCreateReqDTO;
 import com.yu.project.dto.req.ShortLinkCreateReqDTO;
 import com.yu.project.dto.req.ShortLinkPageReqDTO;
+import com.yu.project.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.yu.project.dto.resp.ShortLinkCreateRespDTO;
+import com.yu.project.dto.resp.ShortLinkCursorPageRespDTO;
+import com.yu.project.dto.resp.ShortLinkGroupCountQueryRespDTO;
 import com.yu.project.dto.resp.ShortLinkPageRespDTO;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import java.util.List;
 
 /**
  * @author yu
@@ -23,6 +31,14 @@ public interface ShortLinkService extends IService<ShortLinkDO> {
 	 */
 	ShortLinkCreateRespDTO createShortLink(ShortLinkCreateReqDTO requestParam);
 
+	/**
+	 * 批量创建短链接
+	 *
+	 * @param requestParam 批量创建短链接请求参数
+	 * @return 批量创建短链接返回参数
+	 */
+	ShortLinkBatchCreateRespDTO batchCreateShortLink(ShortLinkBatchCreateReqDTO requestParam);
+
 	/**
 	 * 分页查询短链接
 	 *
@@ -31,4 +47,29 @@ public interface ShortLinkService extends IService<ShortLinkDO> {
 	 */
 	IPage<ShortLinkPageRespDTO> pageShortLink(ShortLinkPageReqDTO requestParam);
 
+	/**
+	 * 查询分组内短链接数量
+	 *
+	 * @param requestParam 分组标识集合
+	 * @return 分组内短链接数量
+	 */
+	List<ShortLinkGroupCountQueryRespDTO> listGroupShortLinkCount(List<String> requestParam);
+
+	/**
+	 * 游标分页查询短链接
+	 *
+	 * @param requestParam 分页查询短链接请求参数
+	 * @return 当前页短链接与下一页续传标识
+	 */
+	ShortLinkCursorPageRespDTO<ShortLinkPageRespDTO> cursorPageShortLink(ShortLinkPageReqDTO requestParam);
+
+	/**
+	 * 短链接跳转原始链接
+	 *
+	 * @param shortUri 短链接后缀
+	 * @param request  HTTP 请求
+	 * @param response HTTP 响应
+	 */
+	void restoreUrl(String shortUri, ServletRequest request, ServletResponse response);
+
 }
@@ -0,0 +1,18 @@
+package com.yu.project.service;
+
+import com.yu.project.dto.biz.ShortLinkStatsRecordDTO;
+
+import java.util.List;
+
+/**
+ * 短链接访问统计落库接口层
+ */
+public interface ShortLinkStatsSaveService {
+
+	/**
+	 * 批量保存短链接访问统计
+	 *
+	 * @param statsRecords 访问统计事件集合
+	 */
+	void saveStatsBatch(List<ShortLinkStatsRecordDTO> statsRecords);
+}
@@ -0,0 +1,63 @@
+package com.yu.project.service;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.yu.project.dto.req.ShortLinkGroupStatsAccessRecordReqDTO;
+import com.yu.project.dto.req.ShortLinkStatsAccessRecordReqDTO;
+import com.yu.project.dto.req.ShortLinkStatsReqDTO;
+import com.yu.project.dto.resp.ShortLinkCursorPageRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsAccessRecordRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsRespDTO;
+
+/**
+ * 短链接监控接口层
+ */
+public interface ShortLinkStatsService {
+
+	/**
+	 * 获取单个短链接指定日期区间内的监控数据，各维度并发查询，超时的维度返回空
+	 *
+	 * @param requestParam 获取短链接监控数据入参
+	 * @return 短链接监控数据
+	 */
+	ShortLinkStatsRespDTO oneShortLinkStats(ShortLinkStatsReqDTO requestParam);
+
+	/**
+	 * 获取单个短链接指定日期区间内的精确 UV
+	 *
+	 * @param requestParam 获取短链接监控数据入参
+	 * @return 去重后的访客数量
+	 */
+	Long oneShortLinkExactUv(ShortLinkStatsReqDTO requestParam);
+
+	/**
+	 * 分页查询单个短链接指定时间内访问记录
+	 *
+	 * @param requestParam 获取短链接监控访问记录数据入参
+	 * @return 访问记录分页结果
+	 */
+	IPage<ShortLinkStatsAccessRecordRespDTO> shortLinkStatsAccessRecord(ShortLinkStatsAccessRecordReqDTO requestParam);
+
+	/**
+	 * 游标分页查询单个短链接指定时间内访问记录，不执行 COUNT，深分页与第一页耗时一致
+	 *
+	 * @param requestParam 获取短链接监控访问记录数据入参
+	 * @return 当前页访问记录与下一页续传标识
+	 */
+	ShortLinkCursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO> cursorShortLinkStatsAccessRecord(ShortLinkStatsAccessRecordReqDTO requestParam);
+
+	/**
+	 * 分页查询分组指定时间内访问记录
+	 *
+	 * @param requestParam 获取分组短链接监控访问记录数据入参
+	 * @return 访问记录分页结果
+	 */
+	IPage<ShortLinkStatsAccessRecordRespDTO> groupShortLinkStatsAccessRecord(ShortLinkGroupStatsAccessRecordReqDTO requestParam);
+
+	/**
+	 * 游标分页查询分组指定时间内访问记录
+	 *
+	 * @param requestParam 获取分组短链接监控访问记录数据入参
+	 * @return 当前页访问记录与下一页续传标识
+	 */
+	ShortLinkCursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO> cursorGroupShortLinkStatsAccessRecord(ShortLinkGroupStatsAccessRecordReqDTO requestParam);
+}
@@ -1,45 +1,165 @@
 package com.yu.project.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.collection.ListUtil;
 import cn.hutool.core.lang.UUID;
 import cn.hutool.core.text.StrBuilder;
 import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
+import com.yu.project.common.bloom.ScalableBloomFilter;
+import com.yu.project.common.cache.ShortLinkGotoLocalCache;
+import com.yu.project.common.cache.ShortLinkGroupCountCache;
+import com.yu.project.common.cache.ShortLinkHotKeyDetector;
+import com.yu.project.common.convention.exception.ClientException;
 import com.yu.project.common.convention.exception.ServiceException;
+import com.yu.project.common.stats.ShortLinkClickRingBuffer;
+import com.yu.project.common.stats.ShortLinkRankIndex;
+import com.yu.project.common.stats.ShortLinkTodayStatsStore;
+import com.yu.project.common.stats.ShortLinkTotalStatsWriter;
+import com.yu.project.common.suffix.SegmentSuffixAllocator;
+import com.yu.project.config.ShortLinkBatchCreateConfiguration;
+import com.yu.project.config.ShortLinkGroupCommitConfiguration;
+import com.yu.project.config.ShortLinkSuffixConfiguration;
 import com.yu.project.dao.entity.ShortLinkDO;
 import com.yu.project.dao.entity.ShortLinkGotoDO;
+import com.yu.project.dao.mapper.ShortLinkGotoMapper;
 import com.yu.project.dao.mapper.ShortLinkMapper;
+import com.yu.project.dto.req.ShortLinkBatchCreateReqDTO;
 import com.yu.project.dto.req.ShortLinkCreateReqDTO;
 import com.yu.project.dto.req.ShortLinkPageReqDTO;
+import com.yu.project.dto.resp.ShortLinkBaseInfoRespDTO;
+import com.yu.project.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.yu.project.dto.resp.ShortLinkCreateRespDTO;
+import com.yu.project.dto.resp.ShortLinkCursorPageRespDTO;
+import com.yu.project.dto.resp.ShortLinkGroupCountQueryRespDTO;
 import com.yu.project.dto.resp.ShortLinkPageRespDTO;
 import com.yu.project.service.ShortLinkService;
+import com.yu.project.toolkit.GroupCommitter;
 import com.yu.project.toolkit.HashUtil;
+import com.yu.project.toolkit.LinkUtil;
+import com.yu.project.toolkit.PageCursor;
+import com.yu.project.toolkit.SingleFlight;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.redisson.api.RBloomFilter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static com.yu.project.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+import static com.yu.project.common.constant.RedisKeyConstant.LOCK_GOTO_SHORT_LINK_KEY;
 
 /**
  * @author yu
  * @description 短链接接口实现层
  * @date 2024-02-06
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLinkDO> implements ShortLinkService {
 
-	private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
+	private final ScalableBloomFilter shortUriCreateCachePenetrationBloomFilter;
+
+	private final ShortLinkGotoMapper shortLinkGotoMapper;
+
+	private final StringRedisTemplate stringRedisTemplate;
+
+	private final RedissonClient redissonClient;
+
+	private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+
+	private final ShortLinkHotKeyDetector shortLinkHotKeyDetector;
+
+	private final ShortLinkSuffixConfiguration suffixConfiguration;
+
+	private final SegmentSuffixAllocator segmentSuffixAllocator;
+
+	private final ShortLinkBatchCreateConfiguration batchCreateConfiguration;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final ShortLinkGroupCommitConfiguration groupCommitConfiguration;
+
+	private final ShortLinkClickRingBuffer shortLinkClickRingBuffer;
+
+	private final ShortLinkTotalStatsWriter shortLinkTotalStatsWriter;
+
+	private final ShortLinkTodayStatsStore shortLinkTodayStatsStore;
+
+	private final ShortLinkRankIndex shortLinkRankIndex;
+
+	private final ShortLinkGroupCountCache shortLinkGroupCountCache;
+
+	private final SingleFlight<String, String> gotoSingleFlight = new SingleFlight<>();
+
+	/**
+	 * 短链接创建组提交器，未开启组提交时为 null
+	 */
+	private GroupCommitter<ShortLinkDO, Void> createGroupCommitter;
 
 	@Value("${short-link.domain.default}")
 	private String createShortLinkDefaultDomain;
 
+	@PostConstruct
+	public void initCreateGroupCommitter() {
+		if (groupCommitConfiguration.getEnable()) {
+			createGroupCommitter = new GroupCommitter<>(
+					"short-link_create-group-commit",
+					groupCommitConfiguration.getQueueCapacity(),
+					groupCommitConfiguration.getWindowMillis(),
+					groupCommitConfiguration.getMaxBatchSize(),
+					this::flushCreateGroup
+			);
+		}
+	}
+
+	@PreDestroy
+	public void shutdownCreateGroupCommitter() {
+		if (createGroupCommitter != null) {
+			createGroupCommitter.shutdown();
+		}
+	}
+
 	/**
 	 * 创建短链接
+	 * 开启组提交时并发的创建请求在短时间窗口内合并为一次批量插入与一次布隆过滤器管道写入
 	 *
 	 * @param requestParam 创建短链接请求参数
 	 * @return 短链接创建信息
@@ -47,7 +167,7 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
 	@Override
 	public ShortLinkCreateRespDTO createShortLink(ShortLinkCreateReqDTO requestParam) {
 		//生成完整的短链接
-		String shortLinkSuffix = generateSuffix(requestParam);
+		String shortLinkSuffix = generateSuffix(requestParam.getOriginUrl());
 		String fullShortUrl = StrBuilder.create(createShortLinkDefaultDomain)
 				.append("/")
 				.append(shortLinkSuffix)
@@ -71,15 +191,39 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
 				.fullShortUrl(fullShortUrl)
 				.build();
 
-		//mysql 唯一索引兜底
-		try {
-			baseMapper.insert(shortLinkDO);
-		} catch (DuplicateKeyException ex) {
-			throw new ServiceException(String.format("短链接：%s 生成重复", fullShortUrl));
+		boolean groupCommitted = false;
+		if (createGroupCommitter != null) {
+			try {
+				createGroupCommitter.submitAndWait(shortLinkDO);
+				groupCommitted = true;
+			} catch (RejectedExecutionException ignored) {
+				//队列已满，降级为直接写入
+			}
+		}
+		if (!groupCommitted) {
+			//mysql 唯一索引兜底，短链接与跳转路由同一事务写入，跳转时通过路由表找到分组标识
+			try {
+				transactionTemplate.executeWithoutResult(status -> {
+					baseMapper.insert(shortLinkDO);
+					shortLinkGotoMapper.insert(buildShortLinkGoto(shortLinkDO));
+				});
+			} catch (DuplicateKeyException ex) {
+				throw new ServiceException(String.format("短链接：%s 生成重复", fullShortUrl));
+			}
 		}
 
-		//布隆过滤器添加短链接
-		shortUriCreateCachePenetrationBloomFilter.add(fullShortUrl);
+		//缓存预热，新建短链接的首次跳转无需回源数据库；组提交时 Redis 缓存与布隆过滤器已在批处理中通过管道写入
+		if (!groupCommitted) {
+			stringRedisTemplate.opsForValue().set(
+					String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
+					requestParam.getOriginUrl(),
+					LinkUtil.getLinkCacheValidTime(requestParam.getValidDate()), TimeUnit.MILLISECONDS
+			);
+			shortUriCreateCachePenetrationBloomFilter.add(fullShortUrl);
+			shortLinkRankIndex.addLinks(List.of(shortLinkDO));
+			shortLinkGroupCountCache.incrementAll(List.of(shortLinkDO));
+		}
+		shortLinkGotoLocalCache.put(fullShortUrl, requestParam.getOriginUrl(), requestParam.getValidDate());
 
 		return ShortLinkCreateRespDTO.builder()
 				.fullShortUrl("http://" + shortLinkDO.getFullShortUrl())
@@ -88,6 +232,199 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
 				.build();
 	}
 
+	/**
+	 * 批量创建短链接
+	 * 后缀批量生成后按批次在独立事务内批量插入，rewriteBatchedStatements 将路由到同一分表的插入改写为多值插入；
+	 * 批次内出现唯一索引冲突时逐条重试，冲突的短链接单独返回失败原因，不影响其它短链接
+	 *
+	 * @param requestParam 批量创建短链接请求参数
+	 * @return 批量创建短链接返回参数
+	 */
+	@Override
+	public ShortLinkBatchCreateRespDTO batchCreateShortLink(ShortLinkBatchCreateReqDTO requestParam) {
+		List<String> originUrls = requestParam.getOriginUrls();
+		List<String> describes = requestParam.getDescribes();
+		if (CollUtil.isEmpty(originUrls)) {
+			throw new ClientException("原始链接不能为空");
+		}
+		if (describes != null && describes.size() != originUrls.size()) {
+			throw new ClientException("原始链接与描述数量不一致");
+		}
+		if (originUrls.size() > batchCreateConfiguration.getMaxSize()) {
+			throw new ClientException(String.format("单次最多创建 %d 条短链接", batchCreateConfiguration.getMaxSize()));
+		}
+
+		//批量生成短链接后缀，哈希模式下同一批次内也需要判重
+		List<ShortLinkDO> shortLinkDOList = new ArrayList<>(originUrls.size());
+		List<ShortLinkBaseInfoRespDTO> failLinkInfos = new ArrayList<>();
+		Set<String> generatedSuffixes = new HashSet<>(originUrls.size() * 2);
+		for (int i = 0; i < originUrls.size(); i++) {
+			String originUrl = originUrls.get(i);
+			String describe = describes == null ? null : describes.get(i);
+			String shortLinkSuffix;
+			try {
+				do {
+					shortLinkSuffix = generateSuffix(originUrl);
+				} while (!generatedSuffixes.add(shortLinkSuffix));
+			} catch (ServiceException ex) {
+				failLinkInfos.add(ShortLinkBaseInfoRespDTO.builder()
+						.originUrl(originUrl)
+						.describe(describe)
+						.failReason(ex.getMessage())
+						.build());
+				continue;
+			}
+			shortLinkDOList.add(ShortLinkDO.builder()
+					.domain(createShortLinkDefaultDomain)
+					.originUrl(originUrl)
+					.gid(requestParam.getGid())
+					.createdType(requestParam.getCreatedType())
+					.validDateType(requestParam.getValidDateType())
+					.validDate(requestParam.getValidDate())
+					.describe(describe)
+					.shortUri(shortLinkSuffix)
+					.enableStatus(0)
+					.totalPv(0)
+					.totalUv(0)
+					.totalUip(0)
+					.delTime(0L)
+					.fullShortUrl(createShortLinkDefaultDomain + "/" + shortLinkSuffix)
+					.build());
+		}
+
+		List<ShortLinkDO> createdList = new ArrayList<>(shortLinkDOList.size());
+		for (List<ShortLinkDO> batch : ListUtil.partition(shortLinkDOList, batchCreateConfiguration.getInsertBatchSize())) {
+			createdList.addAll(persistShortLinks(batch, (each, failReason) -> failLinkInfos.add(buildBaseInfo(each, failReason))));
+		}
+
+		if (!createdList.isEmpty()) {
+			//布隆过滤器一次管道请求批量添加
+			shortUriCreateCachePenetrationBloomFilter.addAll(createdList.stream().map(ShortLinkDO::getFullShortUrl).toList());
+			warmUpGotoCache(createdList);
+			shortLinkRankIndex.addLinks(createdList);
+			shortLinkGroupCountCache.incrementAll(createdList);
+		}
+
+		return ShortLinkBatchCreateRespDTO.builder()
+				.total(createdList.size())
+				.baseLinkInfos(createdList.stream().map(each -> buildBaseInfo(each, null)).toList())
+				.failLinkInfos(failLinkInfos)
+				.build();
+	}
+
+	/**
+	 * 组提交批处理：一次批量插入、一次布隆过滤器与跳转缓存管道写入，再逐个完成调用方的等待
+	 *
+	 * @param entries 同一时间窗口内的创建请求
+	 */
+	private void flushCreateGroup(List<GroupCommitter.Entry<ShortLinkDO, Void>> entries) {
+		Map<ShortLinkDO, GroupCommitter.Entry<ShortLinkDO, Void>> entryMap = new IdentityHashMap<>(entries.size() * 2);
+		entries.forEach(each -> entryMap.put(each.getRequest(), each));
+		List<ShortLinkDO> createdList = persistShortLinks(
+				entries.stream().map(GroupCommitter.Entry::getRequest).toList(),
+				(each, failReason) -> entryMap.get(each).fail(new ServiceException(failReason))
+		);
+		if (!createdList.isEmpty()) {
+			shortUriCreateCachePenetrationBloomFilter.addAll(createdList.stream().map(ShortLinkDO::getFullShortUrl).toList());
+			warmUpGotoCache(createdList);
+			shortLinkRankIndex.addLinks(createdList);
+			shortLinkGroupCountCache.incrementAll(createdList);
+		}
+		createdList.forEach(each -> entryMap.get(each).complete(null));
+	}
+
+	/**
+	 * 单个事务内批量插入短链接与跳转路由，rewriteBatchedStatements 将路由到同一分表的插入改写为多值插入；
+	 * 出现唯一索引冲突时整批回滚并逐条重试，冲突的短链接通过回调单独返回；其他异常不逐条重试，整批通过回调返回失败
+	 *
+	 * @param batch     短链接集合
+	 * @param onFailure 创建失败回调，参数为短链接与失败原因
+	 * @return 创建成功的短链接
+	 */
+	private List<ShortLinkDO> persistShortLinks(List<ShortLinkDO> batch, BiConsumer<ShortLinkDO, String> onFailure) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				saveBatch(batch, batch.size());
+				Db.saveBatch(batch.stream().map(this::buildShortLinkGoto).toList(), batch.size());
+			});
+			return batch;
+		} catch (Exception batchEx) {
+			if (!isDuplicateKey(batchEx)) {
+				log.error("批量创建短链接失败，数量：{}", batch.size(), batchEx);
+				batch.forEach(each -> onFailure.accept(each, "短链接创建失败"));
+				return List.of();
+			}
+			log.warn("批量创建短链接出现唯一索引冲突，逐条重试，数量：{}", batch.size(), batchEx);
+			List<ShortLinkDO> createdList = new ArrayList<>(batch.size());
+			for (ShortLinkDO each : batch) {
+				try {
+					transactionTemplate.executeWithoutResult(status -> {
+						baseMapper.insert(each);
+						shortLinkGotoMapper.insert(buildShortLinkGoto(each));
+					});
+					createdList.add(each);
+				} catch (DuplicateKeyException ex) {
+					onFailure.accept(each, String.format("短链接：%s 生成重复", each.getFullShortUrl()));
+				} catch (Exception ex) {
+					log.error("创建短链接失败，短链接：{}", each.getFullShortUrl(), ex);
+					onFailure.accept(each, "短链接创建失败");
+				}
+			}
+			return createdList;
+		}
+	}
+
+	/**
+	 * 判断异常是否由唯一索引冲突引起，批量插入的冲突可能被包装在 MyBatis 或 JDBC 批处理异常中
+	 */
+	private boolean isDuplicateKey(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof DuplicateKeyException || cause instanceof SQLIntegrityConstraintViolationException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 批量预热跳转缓存，按批次通过管道写入 Redis
+	 * 批量创建的短链接数量大且不一定立即访问，只预热 Redis 缓存，不占用本地缓存
+	 *
+	 * @param shortLinkDOList 短链接集合
+	 */
+	private void warmUpGotoCache(List<ShortLinkDO> shortLinkDOList) {
+		RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+		for (List<ShortLinkDO> batch : ListUtil.partition(shortLinkDOList, batchCreateConfiguration.getInsertBatchSize())) {
+			stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+				for (ShortLinkDO each : batch) {
+					connection.stringCommands().set(
+							serializer.serialize(String.format(GOTO_SHORT_LINK_KEY, each.getFullShortUrl())),
+							serializer.serialize(each.getOriginUrl()),
+							Expiration.milliseconds(LinkUtil.getLinkCacheValidTime(each.getValidDate())),
+							RedisStringCommands.SetOption.upsert()
+					);
+				}
+				return null;
+			});
+		}
+	}
+
+	private ShortLinkGotoDO buildShortLinkGoto(ShortLinkDO shortLinkDO) {
+		return ShortLinkGotoDO.builder()
+				.fullShortUrl(shortLinkDO.getFullShortUrl())
+				.gid(shortLinkDO.getGid())
+				.build();
+	}
+
+	private ShortLinkBaseInfoRespDTO buildBaseInfo(ShortLinkDO shortLinkDO, String failReason) {
+		return ShortLinkBaseInfoRespDTO.builder()
+				.fullShortUrl("http://" + shortLinkDO.getFullShortUrl())
+				.originUrl(shortLinkDO.getOriginUrl())
+				.describe(shortLinkDO.getDescribe())
+				.failReason(failReason)
+				.build();
+	}
+
 	/**
 	 * 分页查询短链接
 	 *
@@ -96,31 +433,293 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
 	 */
 	@Override
 	public IPage<ShortLinkPageRespDTO> pageShortLink(ShortLinkPageReqDTO requestParam) {
-		IPage<ShortLinkDO> resultPage = baseMapper.pageLink(requestParam);
-		return resultPage.convert(each -> {
-			ShortLinkPageRespDTO result = BeanUtil.toBean(each, ShortLinkPageRespDTO.class);
-			result.setDomain("http://" + result.getDomain());
-			return result;
+		//按访问计数排序时从分组排行截取当前页，避免数据库对整个分组排序；按创建时间排序时总数取自分组计数缓存，不再执行 COUNT
+		IPage<ShortLinkDO> resultPage;
+		if (shortLinkRankIndex.supports(requestParam.getOrderTag())) {
+			resultPage = shortLinkRankIndex.page(requestParam);
+		} else {
+			requestParam.setSearchCount(false);
+			resultPage = baseMapper.pageLink(requestParam);
+			resultPage.setTotal(requestParam.getKnownTotal() != null ? requestParam.getKnownTotal() : shortLinkGroupCountCache.count(requestParam.getGid()));
+		}
+		//累计计数延迟落库，合并尚未写回数据库的增量
+		shortLinkTotalStatsWriter.mergePending(requestParam.getGid(), resultPage.getRecords());
+		shortLinkTodayStatsStore.fillToday(requestParam.getGid(), resultPage.getRecords());
+		return resultPage.convert(this::buildPageResp);
+	}
+
+	/**
+	 * 查询分组内短链接数量
+	 *
+	 * @param requestParam 分组标识集合
+	 * @return 分组内短链接数量
+	 */
+	@Override
+	public List<ShortLinkGroupCountQueryRespDTO> listGroupShortLinkCount(List<String> requestParam) {
+		return shortLinkGroupCountCache.count(requestParam).entrySet().stream()
+				.map(each -> {
+					ShortLinkGroupCountQueryRespDTO result = new ShortLinkGroupCountQueryRespDTO();
+					result.setGid(each.getKey());
+					result.setShortLinkCount(each.getValue().intValue());
+					return result;
+				})
+				.toList();
+	}
+
+	/**
+	 * 游标分页查询短链接
+	 * 默认按（创建时间、ID）倒序做键集分页，按访问计数排序时从分组排行上一页最后一个短链接之后截取，均不执行 COUNT
+	 *
+	 * @param requestParam 分页查询短链接请求参数
+	 * @return 当前页短链接与下一页续传标识
+	 */
+	@Override
+	public ShortLinkCursorPageRespDTO<ShortLinkPageRespDTO> cursorPageShortLink(ShortLinkPageReqDTO requestParam) {
+		ShortLinkCursorPageRespDTO<ShortLinkDO> resultPage = shortLinkRankIndex.supports(requestParam.getOrderTag())
+				? shortLinkRankIndex.cursorPage(requestParam)
+				: cursorPageByCreateTime(requestParam);
+		shortLinkTotalStatsWriter.mergePending(requestParam.getGid(), resultPage.getRecords());
+		shortLinkTodayStatsStore.fillToday(requestParam.getGid(), resultPage.getRecords());
+		return ShortLinkCursorPageRespDTO.<ShortLinkPageRespDTO>builder()
+				.records(resultPage.getRecords().stream().map(this::buildPageResp).toList())
+				.nextCursor(resultPage.getNextCursor())
+				.hasMore(resultPage.getHasMore())
+				.build();
+	}
+
+	private ShortLinkCursorPageRespDTO<ShortLinkDO> cursorPageByCreateTime(ShortLinkPageReqDTO requestParam) {
+		LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
+				.eq(ShortLinkDO::getGid, requestParam.getGid())
+				.eq(ShortLinkDO::getEnableStatus, 0)
+				.eq(ShortLinkDO::getDelFlag, 0);
+		if (StrUtil.isNotEmpty(requestParam.getCursor())) {
+			long[] sortKeys = PageCursor.decodeLongs(requestParam.getCursor(), 2);
+			Date createTime = new Date(sortKeys[0]);
+			long id = sortKeys[1];
+			queryWrapper.and(wrapper -> wrapper.lt(ShortLinkDO::getCreateTime, createTime)
+					.or(each -> each.eq(ShortLinkDO::getCreateTime, createTime).lt(ShortLinkDO::getId, id)));
+		}
+		queryWrapper.orderByDesc(ShortLinkDO::getCreateTime, ShortLinkDO::getId)
+				.last("LIMIT " + (requestParam.getSize() + 1));
+		List<ShortLinkDO> records = baseMapper.selectList(queryWrapper);
+		boolean hasMore = records.size() > requestParam.getSize();
+		if (hasMore) {
+			records = records.subList(0, (int) requestParam.getSize());
+		}
+		ShortLinkDO last = hasMore ? records.get(records.size() - 1) : null;
+		return ShortLinkCursorPageRespDTO.<ShortLinkDO>builder()
+				.records(records)
+				.nextCursor(last != null ? PageCursor.encode(last.getCreateTime().getTime(), last.getId()) : null)
+				.hasMore(hasMore)
+				.build();
+	}
+
+	private ShortLinkPageRespDTO buildPageResp(ShortLinkDO shortLinkDO) {
+		ShortLinkPageRespDTO result = BeanUtil.toBean(shortLinkDO, ShortLinkPageRespDTO.class);
+		result.setDomain("http://" + result.getDomain());
+		return result;
+	}
+
+	/**
+	 * 短链接跳转原始链接
+	 * 本地缓存或 Redis 缓存命中直接跳转；未命中时先经过布隆过滤器与空值缓存拦截不存在的短链接，再合并请求加锁回源数据库重建缓存
+	 *
+	 * @param shortUri 短链接后缀
+	 * @param request  HTTP 请求
+	 * @param response HTTP 响应
+	 */
+	@SneakyThrows
+	@Override
+	public void restoreUrl(String shortUri, ServletRequest request, ServletResponse response) {
+		String serverPort = Optional.of(request.getServerPort())
+				.filter(each -> !Objects.equals(each, 80))
+				.map(each -> ":" + each)
+				.orElse("");
+		String fullShortUrl = request.getServerName() + serverPort + "/" + shortUri;
+
+		//缓存命中直接跳转
+		String originalLink = getCachedOriginUrl(fullShortUrl);
+		if (StrUtil.isNotBlank(originalLink)) {
+			shortLinkHotKeyDetector.record(fullShortUrl, originalLink);
+			shortLinkStats(fullShortUrl, request, response);
+			((HttpServletResponse) response).sendRedirect(originalLink);
+			return;
+		}
+
+		//布隆过滤器不存在，短链接一定不存在
+		if (!shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl)) {
+			((HttpServletResponse) response).sendRedirect("/page/notfound");
+			return;
+		}
+
+		//布隆过滤器存在误判，空值缓存拦截已确认不存在的短链接
+		String gotoIsNullShortLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl));
+		if (StrUtil.isNotBlank(gotoIsNullShortLink)) {
+			((HttpServletResponse) response).sendRedirect("/page/notfound");
+			return;
+		}
+
+		//同一节点内的并发未命中合并为一次回源，只有获胜线程竞争分布式锁
+		originalLink = gotoSingleFlight.execute(fullShortUrl, () -> loadOriginUrl(fullShortUrl));
+		if (StrUtil.isBlank(originalLink)) {
+			((HttpServletResponse) response).sendRedirect("/page/notfound");
+			return;
+		}
+		shortLinkStats(fullShortUrl, request, response);
+		((HttpServletResponse) response).sendRedirect(originalLink);
+	}
+
+	/**
+	 * 记录短链接访问统计
+	 * 跳转线程只读取访客标识与原始请求信息写入环形缓冲区，User-Agent 解析、消息发送与落库均异步完成，统计异常不影响跳转
+	 *
+	 * @param fullShortUrl 完整短链接
+	 * @param request      HTTP 请求
+	 * @param response     HTTP 响应
+	 */
+	private void shortLinkStats(String fullShortUrl, ServletRequest request, ServletResponse response) {
+		try {
+			HttpServletRequest httpRequest = (HttpServletRequest) request;
+			String uv = null;
+			Cookie[] cookies = httpRequest.getCookies();
+			if (cookies != null) {
+				for (Cookie each : cookies) {
+					if (Objects.equals(each.getName(), "uv")) {
+						uv = each.getValue();
+						break;
+					}
+				}
+			}
+			if (uv == null) {
+				uv = UUID.fastUUID().toString();
+				Cookie uvCookie = new Cookie("uv", uv);
+				uvCookie.setMaxAge(60 * 60 * 24 * 30);
+				uvCookie.setPath(fullShortUrl.substring(fullShortUrl.indexOf("/")));
+				((HttpServletResponse) response).addCookie(uvCookie);
+			}
+			shortLinkClickRingBuffer.publish(fullShortUrl, LinkUtil.getActualIp(httpRequest), httpRequest.getHeader("User-Agent"), uv);
+		} catch (Exception ex) {
+			log.error("短链接访问统计异常，短链接：{}", fullShortUrl, ex);
+		}
+	}
+
+	/**
+	 * 加分布式锁回源数据库重建跳转缓存
+	 * 集群内同一短链接只有一个节点查询数据库，其余节点获取锁后双重判定直接命中缓存
+	 *
+	 * @param fullShortUrl 完整短链接
+	 * @return 原始链接，短链接不存在返回 null
+	 */
+	private String loadOriginUrl(String fullShortUrl) {
+		RLock lock = redissonClient.getLock(String.format(LOCK_GOTO_SHORT_LINK_KEY, fullShortUrl));
+		lock.lock();
+		try {
+			//双重判定，等待锁期间缓存可能已被其它节点重建
+			String originalLink = getCachedOriginUrl(fullShortUrl);
+			if (StrUtil.isNotBlank(originalLink)) {
+				return originalLink;
+			}
+			if (StrUtil.isNotBlank(stringRedisTemplate.opsForValue().get(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl)))) {
+				return null;
+			}
+
+			ShortLinkDO shortLinkDO = loadShortLink(fullShortUrl);
+			if (shortLinkDO == null) {
+				stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
+				return null;
+			}
+
+			stringRedisTemplate.opsForValue().set(
+					String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
+					shortLinkDO.getOriginUrl(),
+					LinkUtil.getLinkCacheValidTime(shortLinkDO.getValidDate()), TimeUnit.MILLISECONDS
+			);
+			shortLinkGotoLocalCache.put(fullShortUrl, shortLinkDO.getOriginUrl(), shortLinkDO.getValidDate());
+			return shortLinkDO.getOriginUrl();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 依次从本地缓存、Redis 缓存获取原始链接
+	 * Redis 命中时一次管道请求同时取回剩余有效期，本地缓存不会比 Redis 缓存活得更久
+	 *
+	 * @param fullShortUrl 完整短链接
+	 * @return 原始链接，均未命中返回 null
+	 */
+	private String getCachedOriginUrl(String fullShortUrl) {
+		String originalLink = shortLinkGotoLocalCache.get(fullShortUrl);
+		if (StrUtil.isNotBlank(originalLink)) {
+			return originalLink;
+		}
+
+		byte[] gotoKey = stringRedisTemplate.getStringSerializer().serialize(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl));
+		List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+			connection.stringCommands().get(gotoKey);
+			connection.keyCommands().pTtl(gotoKey);
+			return null;
 		});
+		originalLink = (String) results.get(0);
+		if (StrUtil.isNotBlank(originalLink)) {
+			Long pttl = (Long) results.get(1);
+			long expireAt = pttl == null || pttl < 0 ? Long.MAX_VALUE : System.currentTimeMillis() + pttl;
+			shortLinkGotoLocalCache.put(fullShortUrl, originalLink, expireAt);
+		}
+		return originalLink;
 	}
 
+	/**
+	 * 回源数据库查询可跳转的短链接
+	 *
+	 * @param fullShortUrl 完整短链接
+	 * @return 短链接实体，不存在、未启用或已过期返回 null
+	 */
+	private ShortLinkDO loadShortLink(String fullShortUrl) {
+		//t_link 按 gid 分表，先通过路由表找到分组标识
+		LambdaQueryWrapper<ShortLinkGotoDO> linkGotoQueryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
+				.eq(ShortLinkGotoDO::getFullShortUrl, fullShortUrl);
+		ShortLinkGotoDO shortLinkGotoDO = shortLinkGotoMapper.selectOne(linkGotoQueryWrapper);
+		if (shortLinkGotoDO == null) {
+			return null;
+		}
+
+		LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
+				.eq(ShortLinkDO::getGid, shortLinkGotoDO.getGid())
+				.eq(ShortLinkDO::getFullShortUrl, fullShortUrl)
+				.eq(ShortLinkDO::getDelFlag, 0)
+				.eq(ShortLinkDO::getEnableStatus, 0);
+		ShortLinkDO shortLinkDO = baseMapper.selectOne(queryWrapper);
+		if (shortLinkDO == null || (shortLinkDO.getValidDate() != null && shortLinkDO.getValidDate().before(new Date()))) {
+			return null;
+		}
+		return shortLinkDO;
+	}
 
 	/**
 	 * 生成短链接
 	 *
-	 * @param requestParam
-	 * @return
+	 * @param originUrl 原始链接
+	 * @return 短链接后缀
 	 */
-	private String generateSuffix(ShortLinkCreateReqDTO requestParam) {
+	private String generateSuffix(String originUrl) {
+		//号段模式生成的后缀天然不重复，无需布隆过滤器判重
+		if (Objects.equals(suffixConfiguration.getGenerator(), "segment")) {
+			return segmentSuffixAllocator.nextSuffix();
+		}
+
+		//布隆过滤器尚未完成首次构建时对任意元素都返回存在，判重没有意义，直接由唯一索引兜底
+		if (!shortUriCreateCachePenetrationBloomFilter.isInitialized()) {
+			return HashUtil.hashToBase62(originUrl, ThreadLocalRandom.current().nextLong());
+		}
+
 		int customGenerateCount = 0;
 		String shorUri;
 		while (true) {
 			if (customGenerateCount > 10) {
 				throw new ServiceException("短链接频繁生成，请稍后再试");
 			}
-			String originUrl = requestParam.getOriginUrl();
-			originUrl += UUID.randomUUID().toString();
-			shorUri = HashUtil.hashToBase62(originUrl);
+			shorUri = HashUtil.hashToBase62(originUrl, ThreadLocalRandom.current().nextLong());
 
 			//在布隆过滤器上判断该短链接是否存在
 			if (!shortUriCreateCachePenetrationBloomFilter.contains(createShortLinkDefaultDomain + "/" + shorUri)) {
@@ -0,0 +1,169 @@
+package com.yu.project.service.impl;
+
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yu.project.common.ip.IpLocation;
+import com.yu.project.common.ip.IpLocationResolver;
+import com.yu.project.common.stats.ShortLinkStatsAggregator;
+import com.yu.project.common.stats.ShortLinkTodayStatsStore;
+import com.yu.project.common.stats.ShortLinkTotalStatsWriter;
+import com.yu.project.common.stats.ShortLinkUniqueVisitorCounter;
+import com.yu.project.common.stats.ShortLinkVisitorBitmapIndex;
+import com.yu.project.config.ShortLinkStatsAggregateConfiguration;
+import com.yu.project.dao.entity.LinkAccessLogsDO;
+import com.yu.project.dao.entity.ShortLinkGotoDO;
+import com.yu.project.dao.mapper.LinkAccessLogsMapper;
+import com.yu.project.dao.mapper.ShortLinkGotoMapper;
+import com.yu.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.yu.project.service.ShortLinkStatsSaveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 短链接访问统计落库接口实现层
+ * 一批访问事件先补全分组标识、当日新访客标识（HyperLogLog 基数估计）与地区，各维度统计交给内存预聚合定时批量落库，访问日志按批插入
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShortLinkStatsSaveServiceImpl implements ShortLinkStatsSaveService {
+
+	/**
+	 * 单条批量写入 SQL 的最大行数
+	 */
+	private static final int INSERT_BATCH_SIZE = 500;
+
+	/**
+	 * 地区解析等待时间，超时按未知地区统计
+	 */
+	private static final long LOCALE_RESOLVE_TIMEOUT_MILLIS = 3000L;
+
+	private final ShortLinkGotoMapper shortLinkGotoMapper;
+
+	private final LinkAccessLogsMapper linkAccessLogsMapper;
+
+	private final ShortLinkStatsAggregator shortLinkStatsAggregator;
+
+	private final ShortLinkUniqueVisitorCounter shortLinkUniqueVisitorCounter;
+
+	private final ShortLinkVisitorBitmapIndex shortLinkVisitorBitmapIndex;
+
+	private final ShortLinkTotalStatsWriter shortLinkTotalStatsWriter;
+
+	private final ShortLinkTodayStatsStore shortLinkTodayStatsStore;
+
+	private final ShortLinkStatsAggregateConfiguration aggregateConfiguration;
+
+	private final IpLocationResolver ipLocationResolver;
+
+	/**
+	 * 完整短链接与分组标识映射缓存，统计消息不携带分组标识时使用
+	 */
+	private final Cache<String, String> gidCache = Caffeine.newBuilder()
+			.maximumSize(100000)
+			.expireAfterWrite(Duration.ofMinutes(10))
+			.build();
+
+	/**
+	 * 批量保存短链接访问统计
+	 * 访问日志写入失败时整批不确认，由消费者组重新投递；访问日志按消息标识去重写入，重新投递不会重复插入
+	 *
+	 * @param statsRecords 访问统计事件集合
+	 */
+	@Override
+	public void saveStatsBatch(List<ShortLinkStatsRecordDTO> statsRecords) {
+		List<ShortLinkStatsRecordDTO> records = fillGid(statsRecords);
+		if (records.isEmpty()) {
+			return;
+		}
+		shortLinkTotalStatsWriter.markDirty(records.stream().map(ShortLinkStatsRecordDTO::getGid).distinct().toList());
+		shortLinkTodayStatsStore.markActive(records);
+		shortLinkVisitorBitmapIndex.add(records);
+		Map<String, IpLocation> locations = resolveLocations(records);
+
+		List<LinkAccessLogsDO> accessLogs = new ArrayList<>(records.size());
+		for (ShortLinkStatsRecordDTO each : records) {
+			IpLocation location = locations.getOrDefault(each.getRemoteAddr(), IpLocation.UNKNOWN);
+			LinkAccessLogsDO accessLogsDO = LinkAccessLogsDO.builder()
+					.fullShortUrl(each.getFullShortUrl())
+					.gid(each.getGid())
+					.user(each.getUv())
+					.ip(each.getRemoteAddr())
+					.browser(each.getBrowser())
+					.os(each.getOs())
+					.device(each.getDevice())
+					.network(each.getNetwork())
+					.locale(StrUtil.join("-", location.province(), location.city()))
+					.msgId(each.getMsgId())
+					.build();
+			accessLogsDO.setCreateTime(each.getCurrentDate());
+			accessLogs.add(accessLogsDO);
+		}
+		ListUtil.partition(accessLogs, INSERT_BATCH_SIZE).forEach(linkAccessLogsMapper::insertIgnoreBatch);
+
+		//访问日志写入成功后再累加统计，避免整批重新投递时重复计数；Lua 脚本中的当日计数、累计增量与排行均为非幂等累加，
+		//同时补全当日首次访问标识供预聚合使用
+		shortLinkUniqueVisitorCounter.record(records);
+		records.forEach(each -> shortLinkStatsAggregator.add(each, locations.getOrDefault(each.getRemoteAddr(), IpLocation.UNKNOWN)));
+
+		//未开启跨批次预聚合时每批消息处理完立即落库
+		if (!aggregateConfiguration.getEnable()) {
+			shortLinkStatsAggregator.flush();
+		}
+	}
+
+	/**
+	 * 补全分组标识，短链接不存在的消息直接丢弃
+	 */
+	private List<ShortLinkStatsRecordDTO> fillGid(List<ShortLinkStatsRecordDTO> statsRecords) {
+		List<String> missing = statsRecords.stream()
+				.filter(each -> StrUtil.isBlank(each.getGid()) && gidCache.getIfPresent(each.getFullShortUrl()) == null)
+				.map(ShortLinkStatsRecordDTO::getFullShortUrl)
+				.distinct()
+				.toList();
+		for (List<String> batch : ListUtil.partition(missing, INSERT_BATCH_SIZE)) {
+			shortLinkGotoMapper.selectList(Wrappers.lambdaQuery(ShortLinkGotoDO.class).in(ShortLinkGotoDO::getFullShortUrl, batch))
+					.forEach(each -> gidCache.put(each.getFullShortUrl(), each.getGid()));
+		}
+
+		List<ShortLinkStatsRecordDTO> result = new ArrayList<>(statsRecords.size());
+		for (ShortLinkStatsRecordDTO each : statsRecords) {
+			if (StrUtil.isBlank(each.getGid())) {
+				each.setGid(gidCache.getIfPresent(each.getFullShortUrl()));
+			}
+			if (StrUtil.isNotBlank(each.getGid())) {
+				result.add(each);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 批量异步解析访问 IP 地区，超时的 IP 按未知地区统计
+	 */
+	private Map<String, IpLocation> resolveLocations(List<ShortLinkStatsRecordDTO> records) {
+		Map<String, CompletableFuture<IpLocation>> futures = new HashMap<>();
+		records.stream()
+				.map(ShortLinkStatsRecordDTO::getRemoteAddr)
+				.filter(Objects::nonNull)
+				.distinct()
+				.forEach(each -> futures.put(each, ipLocationResolver.resolve(each)
+						.completeOnTimeout(IpLocation.UNKNOWN, LOCALE_RESOLVE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)));
+		Map<String, IpLocation> locations = new HashMap<>(futures.size() * 2);
+		futures.forEach((ip, future) -> locations.put(ip, future.join()));
+		return locations;
+	}
+}
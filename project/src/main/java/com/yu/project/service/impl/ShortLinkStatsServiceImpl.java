@@ -0,0 +1,361 @@
+package com.yu.project.service.impl;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.yu.project.common.convention.exception.ClientException;
+import com.yu.project.common.stats.ShortLinkStatsQueryExecutor;
+import com.yu.project.common.stats.ShortLinkUniqueVisitorCounter;
+import com.yu.project.common.stats.ShortLinkVisitorBitmapIndex;
+import com.yu.project.config.ShortLinkStatsExactUvConfiguration;
+import com.yu.project.dao.entity.LinkAccessLogsDO;
+import com.yu.project.dao.entity.LinkAccessStatsDO;
+import com.yu.project.dao.entity.LinkBrowserStatsDO;
+import com.yu.project.dao.entity.LinkDeviceStatsDO;
+import com.yu.project.dao.entity.LinkLocaleStatsDO;
+import com.yu.project.dao.entity.LinkNetworkStatsDO;
+import com.yu.project.dao.entity.LinkOsStatsDO;
+import com.yu.project.dao.mapper.LinkAccessLogsMapper;
+import com.yu.project.dao.mapper.LinkAccessStatsMapper;
+import com.yu.project.dao.mapper.LinkBrowserStatsMapper;
+import com.yu.project.dao.mapper.LinkDeviceStatsMapper;
+import com.yu.project.dao.mapper.LinkLocaleStatsMapper;
+import com.yu.project.dao.mapper.LinkNetworkStatsMapper;
+import com.yu.project.dao.mapper.LinkOsStatsMapper;
+import com.yu.project.dto.req.ShortLinkGroupStatsAccessRecordReqDTO;
+import com.yu.project.dto.req.ShortLinkStatsAccessRecordReqDTO;
+import com.yu.project.dto.req.ShortLinkStatsReqDTO;
+import com.yu.project.dto.resp.ShortLinkCursorPageRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsAccessDailyRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsAccessRecordRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsBrowserRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsDeviceRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsLocaleCNRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsNetworkRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsOsRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsTopIpRespDTO;
+import com.yu.project.dto.resp.ShortLinkStatsUvRespDTO;
+import com.yu.project.service.ShortLinkStatsService;
+import com.yu.project.toolkit.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 短链接监控接口实现层
+ */
+@Service
+@RequiredArgsConstructor
+public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
+
+	private final ShortLinkVisitorBitmapIndex shortLinkVisitorBitmapIndex;
+
+	private final ShortLinkStatsExactUvConfiguration exactUvConfiguration;
+
+	private final LinkAccessLogsMapper linkAccessLogsMapper;
+
+	private final LinkAccessStatsMapper linkAccessStatsMapper;
+
+	private final LinkLocaleStatsMapper linkLocaleStatsMapper;
+
+	private final LinkBrowserStatsMapper linkBrowserStatsMapper;
+
+	private final LinkOsStatsMapper linkOsStatsMapper;
+
+	private final LinkDeviceStatsMapper linkDeviceStatsMapper;
+
+	private final LinkNetworkStatsMapper linkNetworkStatsMapper;
+
+	private final ShortLinkUniqueVisitorCounter shortLinkUniqueVisitorCounter;
+
+	private final ShortLinkStatsQueryExecutor shortLinkStatsQueryExecutor;
+
+	@Override
+	public ShortLinkStatsRespDTO oneShortLinkStats(ShortLinkStatsReqDTO requestParam) {
+		String gid = requestParam.getGid();
+		String fullShortUrl = requestParam.getFullShortUrl();
+		LocalDate startDate = parseDate(requestParam.getStartDate());
+		LocalDate endDate = parseDate(requestParam.getEndDate());
+		if (endDate.isBefore(startDate)) {
+			throw new ClientException("结束日期不能早于开始日期");
+		}
+		AccessRecordQuery query = new AccessRecordQuery(gid, fullShortUrl, requestParam.getStartDate(), requestParam.getEndDate());
+		Date startTime = query.startTime();
+		Date endTime = query.endTime();
+
+		//各维度相互独立，并发查询；超时或失败的维度返回 null，其余维度照常返回
+		ShortLinkStatsQueryExecutor.Fanout fanout = shortLinkStatsQueryExecutor.fanout(fullShortUrl);
+		CompletableFuture<Long> pvFuture = fanout.submit("pv", () -> linkAccessStatsMapper.sumPv(gid, fullShortUrl, startTime, endTime));
+		CompletableFuture<Long> uvFuture = fanout.submit("uv", () -> shortLinkUniqueVisitorCounter.countUv(gid, fullShortUrl, startDate, endDate));
+		CompletableFuture<Long> uipFuture = fanout.submit("uip", () -> shortLinkUniqueVisitorCounter.countUip(gid, fullShortUrl, startDate, endDate));
+		CompletableFuture<List<LinkAccessStatsDO>> dailyFuture = fanout.submit("daily", () -> linkAccessStatsMapper.listDailyStats(gid, fullShortUrl, startTime, endTime));
+		CompletableFuture<List<LinkLocaleStatsDO>> localeFuture = fanout.submit("locale", () -> linkLocaleStatsMapper.listProvinceStats(gid, fullShortUrl, startTime, endTime));
+		CompletableFuture<List<LinkAccessStatsDO>> hourFuture = fanout.submit("hour", () -> linkAccessStatsMapper.listHourStats(gid, fullShortUrl, startTime, endTime));
+		CompletableFuture<List<LinkAccessStatsDO>> weekdayFuture = fanout.submit("weekday", () -> linkAccessStatsMapper.listWeekdayStats(gid, fullShortUrl, startTime, endTime));
+		CompletableFuture<List<Map<String, Object>>> topIpFuture = fanout.submit("topIp", () -> linkAccessLogsMapper.listTopIp(gid, fullShortUrl, startTime, endTime));
+		CompletableFuture<List<LinkBrowserStatsDO>> browserFuture = fanout.submit("browser", () -> linkBrowserStatsMapper.listBrowserStats(gid, fullShortUrl, startTime, endTime));
+		CompletableFuture<List<LinkOsStatsDO>> osFuture = fanout.submit("os", () -> linkOsStatsMapper.listOsStats(gid, fullShortUrl, startTime, endTime));
+		CompletableFuture<Map<String, Object>> uvTypeFuture = fanout.submit("uvType", () -> linkAccessLogsMapper.selectUvTypeCount(gid, fullShortUrl, startTime, endTime));
+		CompletableFuture<List<LinkDeviceStatsDO>> deviceFuture = fanout.submit("device", () -> linkDeviceStatsMapper.listDeviceStats(gid, fullShortUrl, startTime, endTime));
+		CompletableFuture<List<LinkNetworkStatsDO>> networkFuture = fanout.submit("network", () -> linkNetworkStatsMapper.listNetworkStats(gid, fullShortUrl, startTime, endTime));
+		fanout.await();
+
+		return ShortLinkStatsRespDTO.builder()
+				.pv(toInteger(pvFuture.join()))
+				.uv(toInteger(uvFuture.join()))
+				.uip(toInteger(uipFuture.join()))
+				.daily(buildDailyStats(dailyFuture.join(), startDate, endDate))
+				.localeCnStats(withRatio(localeFuture.join(), LinkLocaleStatsDO::getCnt, (each, ratio) -> ShortLinkStatsLocaleCNRespDTO.builder()
+						.locale(each.getProvince()).cnt(each.getCnt()).ratio(ratio).build()))
+				.hourStats(buildSlotStats(hourFuture.join(), 24, LinkAccessStatsDO::getHour))
+				.topIpStats(topIpFuture.join() == null ? null : topIpFuture.join().stream()
+						.map(each -> ShortLinkStatsTopIpRespDTO.builder()
+								.ip(String.valueOf(each.get("ip")))
+								.cnt(((Number) each.get("cnt")).intValue())
+								.build())
+						.toList())
+				//星期按 ISO-8601 记录，1 为星期一
+				.weekdayStats(buildSlotStats(weekdayFuture.join(), 7, each -> each.getWeekday() - 1))
+				.browserStats(withRatio(browserFuture.join(), LinkBrowserStatsDO::getCnt, (each, ratio) -> ShortLinkStatsBrowserRespDTO.builder()
+						.browser(each.getBrowser()).cnt(each.getCnt()).ratio(ratio).build()))
+				.osStats(withRatio(osFuture.join(), LinkOsStatsDO::getCnt, (each, ratio) -> ShortLinkStatsOsRespDTO.builder()
+						.os(each.getOs()).cnt(each.getCnt()).ratio(ratio).build()))
+				.uvTypeStats(buildUvTypeStats(uvTypeFuture.join()))
+				.deviceStats(withRatio(deviceFuture.join(), LinkDeviceStatsDO::getCnt, (each, ratio) -> ShortLinkStatsDeviceRespDTO.builder()
+						.device(each.getDevice()).cnt(each.getCnt()).ratio(ratio).build()))
+				.networkStats(withRatio(networkFuture.join(), LinkNetworkStatsDO::getCnt, (each, ratio) -> ShortLinkStatsNetworkRespDTO.builder()
+						.network(each.getNetwork()).cnt(each.getCnt()).ratio(ratio).build()))
+				.build();
+	}
+
+	@Override
+	public Long oneShortLinkExactUv(ShortLinkStatsReqDTO requestParam) {
+		if (!exactUvConfiguration.getEnable()) {
+			throw new ClientException("精确 UV 统计未开启");
+		}
+		LocalDate startDate = parseDate(requestParam.getStartDate());
+		LocalDate endDate = parseDate(requestParam.getEndDate());
+		if (endDate.isBefore(startDate)) {
+			throw new ClientException("结束日期不能早于开始日期");
+		}
+		if (ChronoUnit.DAYS.between(startDate, endDate) >= exactUvConfiguration.getDailyRetentionDays()) {
+			throw new ClientException(String.format("精确 UV 最多统计 %d 天", exactUvConfiguration.getDailyRetentionDays()));
+		}
+		return shortLinkVisitorBitmapIndex.countUv(requestParam.getFullShortUrl(), startDate, endDate);
+	}
+
+	@Override
+	public IPage<ShortLinkStatsAccessRecordRespDTO> shortLinkStatsAccessRecord(ShortLinkStatsAccessRecordReqDTO requestParam) {
+		AccessRecordQuery query = new AccessRecordQuery(requestParam.getGid(), requestParam.getFullShortUrl(), requestParam.getStartDate(), requestParam.getEndDate());
+		IPage<LinkAccessLogsDO> accessLogsPage = selectAccessLogsPage(requestParam, query, requestParam.getApproximateCount(), requestParam.getKnownTotal());
+		Map<String, String> uvTypes = selectUvTypes(query, accessLogsPage.getRecords());
+		return accessLogsPage.convert(each -> buildAccessRecord(each, uvTypes));
+	}
+
+	@Override
+	public ShortLinkCursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO> cursorShortLinkStatsAccessRecord(ShortLinkStatsAccessRecordReqDTO requestParam) {
+		AccessRecordQuery query = new AccessRecordQuery(requestParam.getGid(), requestParam.getFullShortUrl(), requestParam.getStartDate(), requestParam.getEndDate());
+		return cursorAccessRecord(query, requestParam.getCursor(), requestParam.getSize());
+	}
+
+	@Override
+	public IPage<ShortLinkStatsAccessRecordRespDTO> groupShortLinkStatsAccessRecord(ShortLinkGroupStatsAccessRecordReqDTO requestParam) {
+		AccessRecordQuery query = new AccessRecordQuery(requestParam.getGid(), null, requestParam.getStartDate(), requestParam.getEndDate());
+		IPage<LinkAccessLogsDO> accessLogsPage = selectAccessLogsPage(requestParam, query, requestParam.getApproximateCount(), requestParam.getKnownTotal());
+		Map<String, String> uvTypes = selectUvTypes(query, accessLogsPage.getRecords());
+		return accessLogsPage.convert(each -> buildAccessRecord(each, uvTypes));
+	}
+
+	@Override
+	public ShortLinkCursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO> cursorGroupShortLinkStatsAccessRecord(ShortLinkGroupStatsAccessRecordReqDTO requestParam) {
+		AccessRecordQuery query = new AccessRecordQuery(requestParam.getGid(), null, requestParam.getStartDate(), requestParam.getEndDate());
+		return cursorAccessRecord(query, requestParam.getCursor(), requestParam.getSize());
+	}
+
+	/**
+	 * 按（访问时间、ID）倒序做键集分页，从上一页最后一条记录之后直接定位，多取一条判断是否还有下一页
+	 */
+	private ShortLinkCursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO> cursorAccessRecord(AccessRecordQuery query, String cursor, long size) {
+		LambdaQueryWrapper<LinkAccessLogsDO> queryWrapper = query.wrapper();
+		if (StrUtil.isNotEmpty(cursor)) {
+			long[] sortKeys = PageCursor.decodeLongs(cursor, 2);
+			Date createTime = new Date(sortKeys[0]);
+			queryWrapper.and(wrapper -> wrapper.lt(LinkAccessLogsDO::getCreateTime, createTime)
+					.or(each -> each.eq(LinkAccessLogsDO::getCreateTime, createTime).lt(LinkAccessLogsDO::getId, sortKeys[1])));
+		}
+		queryWrapper.last("LIMIT " + (size + 1));
+		List<LinkAccessLogsDO> accessLogs = linkAccessLogsMapper.selectList(queryWrapper);
+		boolean hasMore = accessLogs.size() > size;
+		if (hasMore) {
+			accessLogs = accessLogs.subList(0, (int) size);
+		}
+		Map<String, String> uvTypes = selectUvTypes(query, accessLogs);
+		LinkAccessLogsDO last = hasMore ? accessLogs.get(accessLogs.size() - 1) : null;
+		return ShortLinkCursorPageRespDTO.<ShortLinkStatsAccessRecordRespDTO>builder()
+				.records(accessLogs.stream().map(each -> buildAccessRecord(each, uvTypes)).toList())
+				.nextCursor(last != null ? PageCursor.encode(last.getCreateTime().getTime(), last.getId()) : null)
+				.hasMore(hasMore)
+				.build();
+	}
+
+	/**
+	 * 分页查询访问日志，客户端已知总数或接受近似总数时关闭分页插件的 COUNT，
+	 * 近似总数取访问统计表中时间范围内的 PV 汇总，与访问日志条数仅在统计延迟落库期间存在偏差
+	 */
+	private IPage<LinkAccessLogsDO> selectAccessLogsPage(Page<LinkAccessLogsDO> page, AccessRecordQuery query, Boolean approximateCount, Long knownTotal) {
+		if (knownTotal == null && !Boolean.TRUE.equals(approximateCount)) {
+			return linkAccessLogsMapper.selectPage(page, query.wrapper());
+		}
+		page.setSearchCount(false);
+		IPage<LinkAccessLogsDO> result = linkAccessLogsMapper.selectPage(page, query.wrapper());
+		result.setTotal(knownTotal != null
+				? knownTotal
+				: linkAccessStatsMapper.sumPv(query.gid(), query.fullShortUrl(), query.startTime(), query.endTime()));
+		return result;
+	}
+
+	/**
+	 * 一次查询当前页全部用户的新老访客类型
+	 */
+	private Map<String, String> selectUvTypes(AccessRecordQuery query, List<LinkAccessLogsDO> accessLogs) {
+		List<String> userList = accessLogs.stream()
+				.map(LinkAccessLogsDO::getUser)
+				.filter(StrUtil::isNotBlank)
+				.distinct()
+				.toList();
+		if (userList.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<String, String> uvTypes = new HashMap<>(userList.size() * 2);
+		linkAccessLogsMapper.selectUvTypeByUsers(query.gid(), query.fullShortUrl(), query.startTime(), query.endTime(), userList)
+				.forEach(each -> uvTypes.put(String.valueOf(each.get("user")), String.valueOf(each.get("uvType"))));
+		return uvTypes;
+	}
+
+	private ShortLinkStatsAccessRecordRespDTO buildAccessRecord(LinkAccessLogsDO accessLogsDO, Map<String, String> uvTypes) {
+		ShortLinkStatsAccessRecordRespDTO result = BeanUtil.toBean(accessLogsDO, ShortLinkStatsAccessRecordRespDTO.class);
+		result.setUvType(uvTypes.get(accessLogsDO.getUser()));
+		return result;
+	}
+
+	private static Integer toInteger(Long value) {
+		return value == null ? null : value.intValue();
+	}
+
+	/**
+	 * 按日访问统计，没有访问的日期补零
+	 */
+	private static List<ShortLinkStatsAccessDailyRespDTO> buildDailyStats(List<LinkAccessStatsDO> dailyStats, LocalDate startDate, LocalDate endDate) {
+		if (dailyStats == null) {
+			return null;
+		}
+		Map<String, LinkAccessStatsDO> statsByDate = dailyStats.stream()
+				.collect(Collectors.toMap(each -> DateUtil.formatDate(each.getDate()), Function.identity()));
+		List<ShortLinkStatsAccessDailyRespDTO> result = new ArrayList<>();
+		for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+			String day = date.toString();
+			LinkAccessStatsDO stats = statsByDate.get(day);
+			result.add(ShortLinkStatsAccessDailyRespDTO.builder()
+					.date(day)
+					.pv(stats == null ? 0 : stats.getPv())
+					.uv(stats == null ? 0 : stats.getUv())
+					.uip(stats == null ? 0 : stats.getUip())
+					.build());
+		}
+		return result;
+	}
+
+	/**
+	 * 按小时、星期等固定槽位汇总访问次数，没有访问的槽位补零
+	 */
+	private static List<Integer> buildSlotStats(List<LinkAccessStatsDO> stats, int slots, ToIntFunction<LinkAccessStatsDO> slotOf) {
+		if (stats == null) {
+			return null;
+		}
+		Integer[] result = new Integer[slots];
+		Arrays.fill(result, 0);
+		stats.forEach(each -> result[slotOf.applyAsInt(each)] = each.getPv());
+		return Arrays.asList(result);
+	}
+
+	private static List<ShortLinkStatsUvRespDTO> buildUvTypeStats(Map<String, Object> uvTypeCount) {
+		if (uvTypeCount == null) {
+			return null;
+		}
+		int newUserCnt = ((Number) uvTypeCount.get("newUserCnt")).intValue();
+		int oldUserCnt = ((Number) uvTypeCount.get("oldUserCnt")).intValue();
+		int total = newUserCnt + oldUserCnt;
+		return List.of(
+				ShortLinkStatsUvRespDTO.builder().uvType("新访客").cnt(newUserCnt).ratio(ratio(newUserCnt, total)).build(),
+				ShortLinkStatsUvRespDTO.builder().uvType("老访客").cnt(oldUserCnt).ratio(ratio(oldUserCnt, total)).build()
+		);
+	}
+
+	/**
+	 * 计算各项占比，保留两位小数
+	 */
+	private static <S, R> List<R> withRatio(List<S> stats, ToIntFunction<S> cntOf, BiFunction<S, Double, R> builder) {
+		if (stats == null) {
+			return null;
+		}
+		int total = stats.stream().mapToInt(cntOf).sum();
+		return stats.stream()
+				.map(each -> builder.apply(each, ratio(cntOf.applyAsInt(each), total)))
+				.toList();
+	}
+
+	private static double ratio(int cnt, int total) {
+		return total == 0 ? 0D : Math.round(cnt * 100.0 / total) / 100.0;
+	}
+
+	private static LocalDate parseDate(String date) {
+		try {
+			return LocalDate.parse(date);
+		} catch (NullPointerException | DateTimeParseException ex) {
+			throw new ClientException("日期格式错误");
+		}
+	}
+
+	/**
+	 * 访问记录查询条件，结束日期当天全天包含在内
+	 */
+	private record AccessRecordQuery(String gid, String fullShortUrl, Date startTime, Date endTime) {
+
+		private AccessRecordQuery(String gid, String fullShortUrl, String startDate, String endDate) {
+			this(gid, fullShortUrl,
+					Date.from(parseDate(startDate).atStartOfDay(ZoneId.systemDefault()).toInstant()),
+					Date.from(parseDate(endDate).plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+		}
+
+		private LambdaQueryWrapper<LinkAccessLogsDO> wrapper() {
+			return Wrappers.lambdaQuery(LinkAccessLogsDO.class)
+					.eq(LinkAccessLogsDO::getGid, gid)
+					.eq(fullShortUrl != null, LinkAccessLogsDO::getFullShortUrl, fullShortUrl)
+					.ge(LinkAccessLogsDO::getCreateTime, startTime)
+					.lt(LinkAccessLogsDO::getCreateTime, endTime)
+					.eq(LinkAccessLogsDO::getDelFlag, 0)
+					.orderByDesc(LinkAccessLogsDO::getCreateTime, LinkAccessLogsDO::getId);
+		}
+	}
+}
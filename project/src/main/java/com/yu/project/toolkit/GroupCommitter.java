@@ -0,0 +1,185 @@
+package com.yu.project.toolkit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 组提交工具类
+ * 并发提交的请求先进入有界队列，由单个刷写线程在时间窗口内或攒满批次后一次性交给批处理逻辑，每个请求的结果通过各自的 {@link CompletableFuture} 返回
+ *
+ * @param <T> 请求类型
+ * @param <R> 结果类型，允许为 null
+ */
+@Slf4j
+public class GroupCommitter<T, R> {
+
+    private final BlockingQueue<Entry<T, R>> queue;
+
+    private final Consumer<List<Entry<T, R>>> handler;
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    private final Thread flusher;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param name          刷写线程名称
+     * @param queueCapacity 等待队列容量
+     * @param windowMillis  攒批时间窗口
+     * @param maxBatchSize  单批最大请求数
+     * @param handler       批处理逻辑，需完成每个请求；抛出异常时整批失败
+     */
+    public GroupCommitter(String name, int queueCapacity, long windowMillis, int maxBatchSize, Consumer<List<Entry<T, R>>> handler) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.handler = handler;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.flusher = new Thread(this::run, name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * 提交请求
+     *
+     * @param request 请求
+     * @return 请求结果
+     * @throws RejectedExecutionException 队列已满或已关闭，调用方应降级为直接处理
+     */
+    public CompletableFuture<R> submit(T request) {
+        Entry<T, R> entry = new Entry<>(request);
+        if (!running || !queue.offer(entry)) {
+            throw new RejectedExecutionException("组提交队列已满或已关闭");
+        }
+        // 入队与关闭并发时刷写线程可能已退出，仍能从队列中移除说明无人会处理该请求
+        if (!running && queue.remove(entry)) {
+            throw new RejectedExecutionException("组提交队列已关闭");
+        }
+        return entry.future;
+    }
+
+    /**
+     * 提交请求并等待结果
+     */
+    public R submitAndWait(T request) {
+        try {
+            return submit(request).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * 停止接收请求，刷写完队列中剩余请求后退出；刷写线程退出后仍留在队列中的请求以失败结束
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            flushUntilStopped();
+        } finally {
+            running = false;
+            failPending();
+        }
+    }
+
+    private void flushUntilStopped() {
+        List<Entry<T, R>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry<T, R> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    Entry<T, R> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void failPending() {
+        List<Entry<T, R>> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        pending.forEach(each -> each.fail(new RejectedExecutionException("组提交队列已关闭")));
+    }
+
+    private void flush(List<Entry<T, R>> batch) {
+        try {
+            handler.accept(batch);
+        } catch (Throwable ex) {
+            log.error("组提交批处理失败，批次大小：{}", batch.size(), ex);
+            batch.forEach(each -> each.fail(ex));
+        }
+        batch.stream()
+                .filter(each -> !each.future.isDone())
+                .forEach(each -> each.fail(new IllegalStateException("组提交请求未被处理")));
+    }
+
+    /**
+     * 组提交请求
+     */
+    public static final class Entry<T, R> {
+
+        private final T request;
+
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+
+        private Entry(T request) {
+            this.request = request;
+        }
+
+        public T getRequest() {
+            return request;
+        }
+
+        public void complete(R result) {
+            future.complete(result);
+        }
+
+        public void fail(Throwable ex) {
+            future.completeExceptionally(ex);
+        }
+    }
+}
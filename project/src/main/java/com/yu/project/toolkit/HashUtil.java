@@ -14,14 +14,32 @@ public class HashUtil {
     };
     private static final int SIZE = CHARS.length;
 
+    /**
+     * 短链接后缀长度
+     */
+    public static final int SHORT_CODE_LENGTH = 6;
+
+    /**
+     * 6 位 base62 可表示的短链接后缀总数，即 62^6
+     */
+    public static final long SHORT_CODE_SPACE = 56_800_235_584L;
+
+    /**
+     * long 转 base62 最多 11 位
+     */
+    private static final int MAX_BASE62_LENGTH = 11;
+
+    private static final long C1 = 0x87C37B91114253D5L;
+    private static final long C2 = 0x4CF5AD432745937FL;
+
     private static String convertDecToBase62(long num) {
-        StringBuilder sb = new StringBuilder();
+        char[] buf = new char[MAX_BASE62_LENGTH];
+        int pos = MAX_BASE62_LENGTH;
         while (num > 0) {
-            int i = (int) (num % SIZE);
-            sb.append(CHARS[i]);
+            buf[--pos] = CHARS[(int) (num % SIZE)];
             num /= SIZE;
         }
-        return sb.reverse().toString();
+        return new String(buf, pos, MAX_BASE62_LENGTH - pos);
     }
 
     public static String hashToBase62(String str) {
@@ -29,4 +47,76 @@ public class HashUtil {
         long num = i < 0 ? Integer.MAX_VALUE - (long) i : i;
         return convertDecToBase62(num);
     }
-}
\ No newline at end of file
+
+    /**
+     * 原始链接与随机盐计算 64 位哈希，编码为定长短链接后缀
+     * 取值空间 62^6 远大于 32 位哈希，布隆过滤器判重重试次数随之下降
+     *
+     * @param originUrl 原始链接
+     * @param salt      随机盐，重试时更换
+     * @return 定长 base62 短链接后缀
+     */
+    public static String hashToBase62(CharSequence originUrl, long salt) {
+        return toFixedBase62(Long.remainderUnsigned(hash64(originUrl, salt), SHORT_CODE_SPACE), SHORT_CODE_LENGTH);
+    }
+
+    /**
+     * 非负整数编码为定长 base62，高位不足补 0
+     *
+     * @param num    非负整数
+     * @param length 编码长度
+     * @return base62 字符串
+     */
+    public static String toFixedBase62(long num, int length) {
+        char[] buf = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            buf[i] = CHARS[(int) (num % SIZE)];
+            num /= SIZE;
+        }
+        return new String(buf);
+    }
+
+    /**
+     * 直接按字符计算 64 位哈希，无需先编码为字节数组
+     * 每 4 个字符拼成一个 64 位分组，分组混合与最终雪崩取自 MurmurHash3
+     *
+     * @param str  字符序列
+     * @param seed 种子
+     * @return 64 位哈希值
+     */
+    public static long hash64(CharSequence str, long seed) {
+        int length = str.length();
+        long hash = seed ^ (length * 0x9E3779B97F4A7C15L);
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long block = (long) str.charAt(i)
+                    | (long) str.charAt(i + 1) << 16
+                    | (long) str.charAt(i + 2) << 32
+                    | (long) str.charAt(i + 3) << 48;
+            hash ^= mixBlock(block);
+            hash = Long.rotateLeft(hash, 27) * 5 + 0x52DCE729;
+        }
+        if (i < length) {
+            long block = 0L;
+            for (int shift = 0; i < length; i++, shift += 16) {
+                block |= (long) str.charAt(i) << shift;
+            }
+            hash ^= mixBlock(block);
+        }
+        return fmix64(hash);
+    }
+
+    private static long mixBlock(long block) {
+        block *= C1;
+        block = Long.rotateLeft(block, 31);
+        return block * C2;
+    }
+
+    private static long fmix64(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+}
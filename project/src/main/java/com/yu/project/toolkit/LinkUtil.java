@@ -54,6 +54,16 @@ public class LinkUtil {
         return ipAddress;
     }
 
+    /**
+     * 获取用户访问操作系统、浏览器与设备类型，一次扫描得到全部结果
+     *
+     * @param request 请求
+     * @return User-Agent 分类结果
+     */
+    public static UserAgentClassifier.UserAgentInfo getUserAgentInfo(HttpServletRequest request) {
+        return UserAgentClassifier.classify(request.getHeader("User-Agent"));
+    }
+
     /**
      * 获取用户访问操作系统
      *
@@ -61,20 +71,7 @@ public class LinkUtil {
      * @return 访问操作系统
      */
     public static String getOs(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent.toLowerCase().contains("windows")) {
-            return "Windows";
-        } else if (userAgent.toLowerCase().contains("mac")) {
-            return "Mac OS";
-        } else if (userAgent.toLowerCase().contains("linux")) {
-            return "Linux";
-        } else if (userAgent.toLowerCase().contains("android")) {
-            return "Android";
-        } else if (userAgent.toLowerCase().contains("iphone") || userAgent.toLowerCase().contains("ipad")) {
-            return "iOS";
-        } else {
-            return "Unknown";
-        }
+        return getUserAgentInfo(request).os();
     }
 
     /**
@@ -84,22 +81,7 @@ public class LinkUtil {
      * @return 访问浏览器
      */
     public static String getBrowser(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent.toLowerCase().contains("edg")) {
-            return "Microsoft Edge";
-        } else if (userAgent.toLowerCase().contains("chrome")) {
-            return "Google Chrome";
-        } else if (userAgent.toLowerCase().contains("firefox")) {
-            return "Mozilla Firefox";
-        } else if (userAgent.toLowerCase().contains("safari")) {
-            return "Apple Safari";
-        } else if (userAgent.toLowerCase().contains("opera")) {
-            return "Opera";
-        } else if (userAgent.toLowerCase().contains("msie") || userAgent.toLowerCase().contains("trident")) {
-            return "Internet Explorer";
-        } else {
-            return "Unknown";
-        }
+        return getUserAgentInfo(request).browser();
     }
 
     /**
@@ -109,11 +91,7 @@ public class LinkUtil {
      * @return 访问设备
      */
     public static String getDevice(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent.toLowerCase().contains("mobile")) {
-            return "Mobile";
-        }
-        return "PC";
+        return getUserAgentInfo(request).device();
     }
 
     /**
@@ -123,10 +101,19 @@ public class LinkUtil {
      * @return 访问设备
      */
     public static String getNetwork(HttpServletRequest request) {
-        String actualIp = getActualIp(request);
+        return getNetwork(getActualIp(request));
+    }
+
+    /**
+     * 根据 IP 获取用户访问网络
+     *
+     * @param actualIp 用户真实IP
+     * @return 访问网络
+     */
+    public static String getNetwork(String actualIp) {
         // 这里简单判断IP地址范围，您可能需要更复杂的逻辑
         // 例如，通过调用IP地址库或调用第三方服务来判断网络类型
-        return actualIp.startsWith("192.168.") || actualIp.startsWith("10.") ? "WIFI" : "Mobile";
+        return actualIp != null && (actualIp.startsWith("192.168.") || actualIp.startsWith("10.")) ? "WIFI" : "Mobile";
     }
 
     /**
@@ -0,0 +1,73 @@
+package com.yu.project.toolkit;
+
+import com.yu.project.common.convention.exception.ClientException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 游标分页续传标识工具类
+ * 上一页最后一行的排序键编码为 URL 安全的 Base64 字符串，客户端原样回传，不依赖具体格式
+ */
+public final class PageCursor {
+
+    private static final String SEPARATOR = "\u0001";
+
+    private PageCursor() {
+    }
+
+    /**
+     * 编码排序键
+     *
+     * @param sortKeys 上一页最后一行的排序键，按排序优先级排列
+     * @return 续传标识
+     */
+    public static String encode(Object... sortKeys) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < sortKeys.length; i++) {
+            if (i > 0) {
+                builder.append(SEPARATOR);
+            }
+            builder.append(sortKeys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码续传标识
+     *
+     * @param cursor   续传标识
+     * @param keyCount 排序键数量
+     * @return 排序键
+     */
+    public static String[] decode(String cursor, int keyCount) {
+        try {
+            String[] sortKeys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+            if (sortKeys.length == keyCount) {
+                return sortKeys;
+            }
+        } catch (IllegalArgumentException ignored) {
+        }
+        throw new ClientException("分页游标无效");
+    }
+
+    /**
+     * 解码由数值排序键组成的续传标识
+     *
+     * @param cursor   续传标识
+     * @param keyCount 排序键数量
+     * @return 排序键
+     */
+    public static long[] decodeLongs(String cursor, int keyCount) {
+        String[] sortKeys = decode(cursor, keyCount);
+        long[] result = new long[keyCount];
+        try {
+            for (int i = 0; i < keyCount; i++) {
+                result[i] = Long.parseLong(sortKeys[i]);
+            }
+        } catch (NumberFormatException ex) {
+            throw new ClientException("分页游标无效");
+        }
+        return result;
+    }
+}
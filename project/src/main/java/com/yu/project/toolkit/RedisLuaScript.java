@@ -0,0 +1,149 @@
+package com.yu.project.toolkit;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Redis Lua 脚本工具类
+ * 脚本从类路径加载并缓存 SHA1，执行时只发送 EVALSHA，可以放在管道内批量执行；
+ * Redis 重启或主从切换导致脚本缓存丢失时，捕获 NOSCRIPT 错误后重新加载脚本，只重试返回 NOSCRIPT 的调用
+ *
+ * @param <T> 脚本返回值类型
+ */
+public class RedisLuaScript<T> {
+
+    private final DefaultRedisScript<T> redisScript;
+
+    private final byte[] scriptBytes;
+
+    private final byte[] sha1Bytes;
+
+    private final ReturnType returnType;
+
+    /**
+     * 当前线程管道内追加的脚本调用，用于脚本缺失时按位置重试
+     */
+    private final ThreadLocal<List<Invocation>> pipelineInvocations = new ThreadLocal<>();
+
+    public RedisLuaScript(String classpathLocation, Class<T> resultType) {
+        this.redisScript = new DefaultRedisScript<>();
+        this.redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(classpathLocation)));
+        this.redisScript.setResultType(resultType);
+        this.scriptBytes = redisScript.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        this.sha1Bytes = redisScript.getSha1().getBytes(StandardCharsets.UTF_8);
+        this.returnType = ReturnType.fromJavaType(resultType);
+    }
+
+    /**
+     * 在管道内追加一次脚本调用
+     *
+     * @param connection  管道连接
+     * @param numKeys     Key 数量
+     * @param keysAndArgs 依次排列的 Key 与参数
+     */
+    public void evalSha(RedisConnection connection, int numKeys, byte[]... keysAndArgs) {
+        List<Invocation> invocations = pipelineInvocations.get();
+        if (invocations != null) {
+            invocations.add(new Invocation(numKeys, keysAndArgs));
+        }
+        connection.scriptingCommands().evalSha(sha1Bytes, returnType, numKeys, keysAndArgs);
+    }
+
+    /**
+     * 管道批量执行脚本，管道内只能追加本脚本的调用
+     * 集群模式下脚本缓存可能只在部分节点丢失，其余节点上的 EVALSHA 已经执行，因此只重试返回 NOSCRIPT 的调用，
+     * 重试前的 SCRIPT LOAD 在集群连接上会发送到全部主节点
+     *
+     * @param stringRedisTemplate Redis 操作模板
+     * @param commands            管道内追加脚本调用的逻辑
+     * @return 管道内各次调用的返回值
+     */
+    public List<Object> executePipelined(StringRedisTemplate stringRedisTemplate, Consumer<RedisConnection> commands) {
+        List<Invocation> invocations = new ArrayList<>();
+        List<Object> results;
+        try {
+            results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                pipelineInvocations.set(invocations);
+                try {
+                    commands.accept(connection);
+                } finally {
+                    pipelineInvocations.remove();
+                }
+                return null;
+            });
+        } catch (RedisPipelineException ex) {
+            results = retryNoScript(stringRedisTemplate, invocations, ex);
+        }
+        return results;
+    }
+
+    /**
+     * 重新加载脚本后只重试返回 NOSCRIPT 的调用，并按原位置合并返回值；管道内出现其他错误时直接抛出
+     */
+    private List<Object> retryNoScript(StringRedisTemplate stringRedisTemplate, List<Invocation> invocations, RedisPipelineException ex) {
+        List<Object> rawResults = ex.getPipelineResult();
+        if (rawResults == null || rawResults.size() != invocations.size()) {
+            throw ex;
+        }
+        List<Object> results = new ArrayList<>(rawResults.size());
+        List<Integer> retryIndexes = new ArrayList<>();
+        for (int i = 0; i < rawResults.size(); i++) {
+            Object each = rawResults.get(i);
+            if (each instanceof Throwable error) {
+                if (!isNoScript(error)) {
+                    throw ex;
+                }
+                retryIndexes.add(i);
+            }
+            results.add(deserialize(stringRedisTemplate, each));
+        }
+        stringRedisTemplate.execute((RedisCallback<String>) connection -> connection.scriptingCommands().scriptLoad(scriptBytes));
+        List<Object> retryResults = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            retryIndexes.forEach(index -> {
+                Invocation invocation = invocations.get(index);
+                connection.scriptingCommands().evalSha(sha1Bytes, returnType, invocation.numKeys(), invocation.keysAndArgs());
+            });
+            return null;
+        });
+        for (int i = 0; i < retryIndexes.size(); i++) {
+            results.set(retryIndexes.get(i), retryResults.get(i));
+        }
+        return results;
+    }
+
+    /**
+     * 管道异常携带的是未经反序列化的原始返回值，按字符串序列化方式转换，与正常返回保持一致
+     */
+    private static Object deserialize(StringRedisTemplate stringRedisTemplate, Object raw) {
+        if (raw instanceof byte[] bytes) {
+            return stringRedisTemplate.getStringSerializer().deserialize(bytes);
+        }
+        if (raw instanceof List<?> list) {
+            return list.stream().map(each -> deserialize(stringRedisTemplate, each)).toList();
+        }
+        return raw;
+    }
+
+    private static boolean isNoScript(Throwable ex) {
+        for (Throwable each = ex; each != null; each = each.getCause()) {
+            if (each.getMessage() != null && each.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Invocation(int numKeys, byte[][] keysAndArgs) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.yu.project.toolkit;
+
+import static com.yu.project.toolkit.HashUtil.SHORT_CODE_SPACE;
+
+/**
+ * 短链接后缀置乱工具类
+ * 以 36 位平衡 Feistel 网络配合循环游走，在 [0, 62^6) 上构造由密钥决定的双射：
+ * 连续递增的号段 ID 映射为互不重复且不可猜测的后缀序号
+ */
+public class ShortCodeShuffler {
+
+    private static final int HALF_BITS = 18;
+
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+
+    private static final int ROUNDS = 4;
+
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public ShortCodeShuffler(long key) {
+        long state = key;
+        for (int i = 0; i < ROUNDS; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            roundKeys[i] = splitMix64(state);
+        }
+    }
+
+    /**
+     * 置乱号段 ID
+     *
+     * @param id 号段 ID，取值 [0, 62^6)
+     * @return 置乱后的后缀序号，取值 [0, 62^6)
+     */
+    public long shuffle(long id) {
+        if (id < 0 || id >= SHORT_CODE_SPACE) {
+            throw new IllegalArgumentException("短链接号段 ID 超出后缀取值空间：" + id);
+        }
+        long value = encrypt(id);
+        while (value >= SHORT_CODE_SPACE) {
+            value = encrypt(value);
+        }
+        return value;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (long roundKey : roundKeys) {
+            long next = left ^ (splitMix64(right ^ roundKey) & HALF_MASK);
+            left = right;
+            right = next;
+        }
+        return left << HALF_BITS | right;
+    }
+
+    private static long splitMix64(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
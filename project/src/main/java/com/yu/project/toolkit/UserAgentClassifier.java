@@ -0,0 +1,198 @@
+package com.yu.project.toolkit;
+
+import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * User-Agent 分类器
+ * 所有关键字编译为一个 Aho-Corasick 自动机，对忽略大小写的 User-Agent 只扫描一遍即可同时得到操作系统、浏览器与设备类型；
+ * 线上 User-Agent 高度重复，分类结果按原始字符串缓存在有界 LRU 缓存中
+ */
+public final class UserAgentClassifier {
+
+    private static final String UNKNOWN = "Unknown";
+
+    private static final String[] KEYWORDS = {
+            "windows", "mac", "linux", "android", "iphone", "ipad",
+            "edg", "chrome", "firefox", "safari", "opera", "msie", "trident",
+            "mobile"
+    };
+
+    private static final int WINDOWS = 1;
+    private static final int MAC = 1 << 1;
+    private static final int LINUX = 1 << 2;
+    private static final int ANDROID = 1 << 3;
+    private static final int IPHONE = 1 << 4;
+    private static final int IPAD = 1 << 5;
+    private static final int EDG = 1 << 6;
+    private static final int CHROME = 1 << 7;
+    private static final int FIREFOX = 1 << 8;
+    private static final int SAFARI = 1 << 9;
+    private static final int OPERA = 1 << 10;
+    private static final int MSIE = 1 << 11;
+    private static final int TRIDENT = 1 << 12;
+    private static final int MOBILE = 1 << 13;
+
+    /**
+     * 自动机只处理 ASCII 字符，非 ASCII 字符直接回到根状态
+     */
+    private static final int ALPHABET = 128;
+
+    private static final int MAX_CACHE_SIZE = 4096;
+
+    private static final UserAgentInfo EMPTY = classifyMask(0);
+
+    /**
+     * 状态转移表，goto 与失败指针已合并，下标为 state * ALPHABET + char
+     */
+    private static final int[] TRANSITIONS;
+
+    /**
+     * 每个状态命中的关键字位掩码，包含失败链上的所有输出
+     */
+    private static final int[] OUTPUTS;
+
+    private static final Cache<String, UserAgentInfo> CACHE = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHE_SIZE)
+            .build();
+
+    static {
+        int maxStates = Arrays.stream(KEYWORDS).mapToInt(String::length).sum() + 1;
+        int[] transitions = new int[maxStates * ALPHABET];
+        Arrays.fill(transitions, -1);
+        int[] outputs = new int[maxStates];
+        int stateCount = 1;
+        for (int i = 0; i < KEYWORDS.length; i++) {
+            int state = 0;
+            for (char c : KEYWORDS[i].toCharArray()) {
+                int index = state * ALPHABET + c;
+                if (transitions[index] < 0) {
+                    transitions[index] = stateCount++;
+                }
+                state = transitions[index];
+            }
+            outputs[state] |= 1 << i;
+        }
+
+        //广度优先计算失败指针，并把缺失的转移补全为失败状态的转移
+        int[] fail = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = transitions[c];
+            if (next < 0) {
+                transitions[c] = 0;
+            } else {
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] |= outputs[fail[state]];
+            for (int c = 0; c < ALPHABET; c++) {
+                int index = state * ALPHABET + c;
+                int next = transitions[index];
+                if (next < 0) {
+                    transitions[index] = transitions[fail[state] * ALPHABET + c];
+                } else {
+                    fail[next] = transitions[fail[state] * ALPHABET + c];
+                    queue.add(next);
+                }
+            }
+        }
+        TRANSITIONS = Arrays.copyOf(transitions, stateCount * ALPHABET);
+        OUTPUTS = Arrays.copyOf(outputs, stateCount);
+    }
+
+    private UserAgentClassifier() {
+    }
+
+    /**
+     * 分类 User-Agent，优先读取缓存
+     *
+     * @param userAgent User-Agent，允许为空
+     * @return 操作系统、浏览器与设备类型
+     */
+    public static UserAgentInfo classify(String userAgent) {
+        if (StrUtil.isEmpty(userAgent)) {
+            return EMPTY;
+        }
+        return CACHE.get(userAgent, UserAgentClassifier::classifyUncached);
+    }
+
+    /**
+     * 不经过缓存直接扫描分类
+     */
+    static UserAgentInfo classifyUncached(String userAgent) {
+        int state = 0;
+        int mask = 0;
+        for (int i = 0, length = userAgent.length(); i < length; i++) {
+            char c = userAgent.charAt(i);
+            if (c >= ALPHABET) {
+                state = 0;
+                continue;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c | 0x20);
+            }
+            state = TRANSITIONS[state * ALPHABET + c];
+            mask |= OUTPUTS[state];
+        }
+        return classifyMask(mask);
+    }
+
+    /**
+     * 按原有判断顺序从命中的关键字中选出结果
+     */
+    private static UserAgentInfo classifyMask(int mask) {
+        String os;
+        if ((mask & WINDOWS) != 0) {
+            os = "Windows";
+        } else if ((mask & MAC) != 0) {
+            os = "Mac OS";
+        } else if ((mask & LINUX) != 0) {
+            os = "Linux";
+        } else if ((mask & ANDROID) != 0) {
+            os = "Android";
+        } else if ((mask & (IPHONE | IPAD)) != 0) {
+            os = "iOS";
+        } else {
+            os = UNKNOWN;
+        }
+
+        String browser;
+        if ((mask & EDG) != 0) {
+            browser = "Microsoft Edge";
+        } else if ((mask & CHROME) != 0) {
+            browser = "Google Chrome";
+        } else if ((mask & FIREFOX) != 0) {
+            browser = "Mozilla Firefox";
+        } else if ((mask & SAFARI) != 0) {
+            browser = "Apple Safari";
+        } else if ((mask & OPERA) != 0) {
+            browser = "Opera";
+        } else if ((mask & (MSIE | TRIDENT)) != 0) {
+            browser = "Internet Explorer";
+        } else {
+            browser = UNKNOWN;
+        }
+
+        String device = (mask & MOBILE) != 0 ? "Mobile" : "PC";
+        return new UserAgentInfo(os, browser, device);
+    }
+
+    /**
+     * User-Agent 分类结果
+     *
+     * @param os      操作系统
+     * @param browser 浏览器
+     * @param device  设备类型
+     */
+    public record UserAgentInfo(String os, String browser, String device) {
+    }
+}
@@ -0,0 +1,6 @@
+-- 分组短链接数量已缓存时累加，未缓存时跳过，由下次查询从数据库重新统计
+-- KEYS[1] 分组短链接数量 Key，ARGV[1] 增量，删除、移入回收站时为负数
+if redis.call("EXISTS", KEYS[1]) == 1 then
+    return redis.call("INCRBY", KEYS[1], ARGV[1])
+end
+return -1
@@ -0,0 +1,58 @@
+-- 单次往返完成一次访问的 Redis 统计记录，所有 Key 使用分组标识作为哈希标签
+-- KEYS[1] 当日 UV 基数估计，KEYS[2] 当日 UIP 基数估计，KEYS[3] 累计 UV 基数估计，KEYS[4] 累计 UIP 基数估计，KEYS[5] 分组当日计数 Hash，KEYS[6] 分组累计计数待落库增量 Hash，
+-- KEYS[7]~KEYS[9] 分组当日 PV、UV、UIP 排行，KEYS[10]~KEYS[12] 分组累计 PV、UV、UIP 排行，KEYS[13] 分组累计排行初始化标识
+-- ARGV[1] 访客标识，ARGV[2] 访问 IP，ARGV[3] 完整短链接，ARGV[4] 当日基数估计过期时间，ARGV[5] 当日计数过期时间，单位：秒
+local uv = ARGV[1]
+local ip = ARGV[2]
+local fullShortUrl = ARGV[3]
+
+-- PFADD 返回 1 表示基数估计发生变化，即访客或 IP 当日首次出现
+local uvFirst = redis.call("PFADD", KEYS[1], uv)
+local uipFirst = redis.call("PFADD", KEYS[2], ip)
+local uvTotalFirst = redis.call("PFADD", KEYS[3], uv)
+local uipTotalFirst = redis.call("PFADD", KEYS[4], ip)
+redis.call("EXPIRE", KEYS[1], ARGV[4])
+redis.call("EXPIRE", KEYS[2], ARGV[4])
+
+-- 累加分组当日计数
+redis.call("HINCRBY", KEYS[5], fullShortUrl .. ":pv", 1)
+if uvFirst == 1 then
+    redis.call("HINCRBY", KEYS[5], fullShortUrl .. ":uv", 1)
+end
+if uipFirst == 1 then
+    redis.call("HINCRBY", KEYS[5], fullShortUrl .. ":uip", 1)
+end
+redis.call("EXPIRE", KEYS[5], ARGV[5])
+
+-- 累加累计计数增量，由定时任务批量写回 t_link
+redis.call("HINCRBY", KEYS[6], fullShortUrl .. ":pv", 1)
+if uvTotalFirst == 1 then
+    redis.call("HINCRBY", KEYS[6], fullShortUrl .. ":uv", 1)
+end
+if uipTotalFirst == 1 then
+    redis.call("HINCRBY", KEYS[6], fullShortUrl .. ":uip", 1)
+end
+
+-- 累加分组排行，累计排行初始化前跳过，由初始化时按数据库计数与待落库增量整体写入
+redis.call("ZINCRBY", KEYS[7], 1, fullShortUrl)
+if uvFirst == 1 then
+    redis.call("ZINCRBY", KEYS[8], 1, fullShortUrl)
+end
+if uipFirst == 1 then
+    redis.call("ZINCRBY", KEYS[9], 1, fullShortUrl)
+end
+redis.call("EXPIRE", KEYS[7], ARGV[5])
+redis.call("EXPIRE", KEYS[8], ARGV[5])
+redis.call("EXPIRE", KEYS[9], ARGV[5])
+if redis.call("EXISTS", KEYS[13]) == 1 then
+    redis.call("ZINCRBY", KEYS[10], 1, fullShortUrl)
+    if uvTotalFirst == 1 then
+        redis.call("ZINCRBY", KEYS[11], 1, fullShortUrl)
+    end
+    if uipTotalFirst == 1 then
+        redis.call("ZINCRBY", KEYS[12], 1, fullShortUrl)
+    end
+end
+
+-- 低位为新访客标识，高位为新 IP 标识
+return uvFirst + uipFirst * 2
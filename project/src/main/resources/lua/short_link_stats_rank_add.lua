@@ -0,0 +1,15 @@
+-- 新建短链接以 0 分加入已初始化的分组排行
+-- KEYS[1]~KEYS[3] 分组累计 PV、UV、UIP 排行，KEYS[4] 分组累计排行初始化标识，
+-- KEYS[5]~KEYS[7] 分组当日 PV、UV、UIP 排行，KEYS[8] 当日排行初始化标识
+-- ARGV[1] 完整短链接
+if redis.call("EXISTS", KEYS[4]) == 1 then
+    for i = 1, 3 do
+        redis.call("ZADD", KEYS[i], "NX", 0, ARGV[1])
+    end
+end
+if redis.call("EXISTS", KEYS[8]) == 1 then
+    for i = 5, 7 do
+        redis.call("ZADD", KEYS[i], "NX", 0, ARGV[1])
+    end
+end
+return 1
@@ -0,0 +1,35 @@
+-- 按（分数、完整短链接）游标从分组排行截取下一页，同分成员按完整短链接倒序排列，与 ZREVRANGE 顺序一致
+-- 续传位置由游标的分数与成员计算，不依赖游标成员当前的排名，成员分数变化或已被移除时游标仍然有效
+-- KEYS[1] 分组排行
+-- ARGV[1] 上一页最后一个成员的分数，第一页传 +inf，ARGV[2] 上一页最后一个成员，第一页传空串，ARGV[3] 截取数量
+local key = KEYS[1]
+local score = ARGV[1]
+local member = ARGV[2]
+
+-- 按字节比较，与 Redis 有序集合同分成员的排序规则一致，不受 Lua 区域设置影响
+local function lessThan(left, right)
+    local length = math.min(#left, #right)
+    for i = 1, length do
+        local l = string.byte(left, i)
+        local r = string.byte(right, i)
+        if l ~= r then
+            return l < r
+        end
+    end
+    return #left < #right
+end
+
+-- 分数严格大于游标分数的成员都排在游标之前
+local low = redis.call("ZCOUNT", key, "(" .. score, "+inf")
+local high = low + redis.call("ZCOUNT", key, score, score)
+-- 同分区间内二分查找第一个小于游标成员的位置
+while low < high do
+    local middle = math.floor((low + high) / 2)
+    local current = redis.call("ZREVRANGE", key, middle, middle)[1]
+    if lessThan(current, member) then
+        high = middle
+    else
+        low = middle + 1
+    end
+end
+return redis.call("ZREVRANGE", key, low, low + tonumber(ARGV[3]) - 1, "WITHSCORES")
@@ -0,0 +1,13 @@
+-- 按数据库累计计数初始化分组累计排行，叠加尚未落库的增量，覆盖初始化期间访问脚本已累加的分数
+-- KEYS[1]~KEYS[3] 分组累计 PV、UV、UIP 排行，KEYS[4] 分组累计计数待落库增量 Hash，KEYS[5] 分组累计计数落库中 Hash
+-- ARGV 依次为每个短链接的完整短链接、累计 PV、累计 UV、累计 UIP
+local suffixes = { ":pv", ":uv", ":uip" }
+for i = 1, #ARGV, 4 do
+    local fullShortUrl = ARGV[i]
+    for j = 1, 3 do
+        local field = fullShortUrl .. suffixes[j]
+        local pending = tonumber(redis.call("HGET", KEYS[4], field) or 0) + tonumber(redis.call("HGET", KEYS[5], field) or 0)
+        redis.call("ZADD", KEYS[j], tonumber(ARGV[i + j]) + pending, fullShortUrl)
+    end
+end
+return #ARGV / 4
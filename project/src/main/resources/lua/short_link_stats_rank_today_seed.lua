@@ -0,0 +1,12 @@
+-- 每天首次按今日计数分页时，将分组全部短链接以 0 分补入当日排行，当日无访问的短链接也能参与排序
+-- KEYS[1]~KEYS[3] 分组当日 PV、UV、UIP 排行，KEYS[4] 分组累计 PV 排行（包含分组全部短链接），KEYS[5] 当日排行初始化标识
+-- ARGV[1] 当日排行过期时间，单位：秒
+if redis.call("EXISTS", KEYS[5]) == 1 then
+    return 0
+end
+for i = 1, 3 do
+    redis.call("ZUNIONSTORE", KEYS[i], 2, KEYS[i], KEYS[4], "WEIGHTS", 1, 0)
+    redis.call("EXPIRE", KEYS[i], ARGV[1])
+end
+redis.call("SET", KEYS[5], "1", "EX", ARGV[1])
+return 1
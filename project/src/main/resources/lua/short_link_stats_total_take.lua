@@ -0,0 +1,10 @@
+-- 取出分组累计计数待落库增量，增量 Hash 原子重命名为落库中 Hash，之后的访问写入新的增量 Hash
+-- 上次落库失败遗留的落库中 Hash 优先返回，本次增量留待下一轮
+-- KEYS[1] 增量 Hash，KEYS[2] 落库中 Hash
+if redis.call("EXISTS", KEYS[2]) == 0 then
+    if redis.call("EXISTS", KEYS[1]) == 0 then
+        return {}
+    end
+    redis.call("RENAME", KEYS[1], KEYS[2])
+end
+return redis.call("HGETALL", KEYS[2])
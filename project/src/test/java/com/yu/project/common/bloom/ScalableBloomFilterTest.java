@@ -0,0 +1,84 @@
+package com.yu.project.common.bloom;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 可扩容布隆过滤器测试，基于嵌入式 Redis 运行
+ */
+class ScalableBloomFilterTest {
+
+    private static RedisServer redisServer;
+
+    private static RedissonClient redissonClient;
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private static StringRedisTemplate stringRedisTemplate;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + port);
+        redissonClient = Redisson.create(config);
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", port));
+        connectionFactory.afterPropertiesSet();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redissonClient.shutdown();
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Test
+    void growsNewSliceWhenSliceIsFull() throws InterruptedException {
+        String name = "scalableBloomFilterTest";
+        ScalableBloomFilter bloomFilter = new ScalableBloomFilter(redissonClient, stringRedisTemplate, name, 100L, 0.01, false, 0L, false);
+        bloomFilter.start();
+        bloomFilter.beginRebuild(0L);
+        bloomFilter.finishRebuild();
+
+        List<String> elements = IntStream.range(0, 150).mapToObj(each -> "element-" + each).toList();
+        for (int i = 0; i < elements.size(); i += 10) {
+            bloomFilter.addAll(elements.subList(i, i + 10));
+        }
+
+        String sliceCount = null;
+        for (int i = 0; i < 50 && !"2".equals(sliceCount); i++) {
+            Thread.sleep(100L);
+            sliceCount = redissonClient.<String, String>getMap(name + ":meta", StringCodec.INSTANCE).get("slices:1");
+        }
+        assertEquals("2", sliceCount);
+        assertTrue(redissonClient.getBloomFilter(name + ":g1:s1").isExists());
+        bloomFilter.add("element-150");
+        assertTrue(elements.stream().allMatch(bloomFilter::contains));
+        assertTrue(bloomFilter.contains("element-150"));
+        bloomFilter.shutdown();
+    }
+}
@@ -0,0 +1,103 @@
+package com.yu.project.toolkit;
+
+import cn.hutool.core.lang.UUID;
+import cn.hutool.core.lang.hash.MurmurHash;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 短链接后缀生成基准测试，旧实现与新实现并列对比
+ * 运行方式：mvn -pl project test-compile 后以测试类路径执行 org.openjdk.jmh.Main HashUtilBenchmark，或直接运行本类 main 方法；
+ * 加 -prof gc 参数可对比每次调用的内存分配
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashUtilBenchmark {
+
+    private static final char[] CHARS = new char[]{
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
+            'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M', 'N', 'O', 'P', 'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z',
+            'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l', 'm', 'n', 'o', 'p', 'q', 'r', 's', 't', 'u', 'v', 'w', 'x', 'y', 'z'
+    };
+    private static final int SIZE = CHARS.length;
+
+    @Param({"https://nageoffer.com/shortlink", "https://nageoffer.com/shortlink/docs/question/what-is-the-difference-between-the-jdk-and-jre?from=search&keyword=jdk"})
+    private String originUrl;
+
+    private long num;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HashUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        num = ThreadLocalRandom.current().nextLong(HashUtil.SHORT_CODE_SPACE);
+    }
+
+    /**
+     * 旧编码：StringBuilder 逐位追加后反转
+     */
+    @Benchmark
+    public String legacyEncode() {
+        return legacyConvertDecToBase62(num);
+    }
+
+    /**
+     * 新编码：定长字符数组从尾部填充
+     */
+    @Benchmark
+    public String fixedEncode() {
+        return HashUtil.toFixedBase62(num, HashUtil.SHORT_CODE_LENGTH);
+    }
+
+    /**
+     * 旧后缀生成：原始链接拼接 UUID 后计算 32 位 MurmurHash
+     */
+    @Benchmark
+    public String legacySuffix() {
+        String str = originUrl + UUID.randomUUID().toString();
+        int i = MurmurHash.hash32(str);
+        long value = i < 0 ? Integer.MAX_VALUE - (long) i : i;
+        return legacyConvertDecToBase62(value);
+    }
+
+    /**
+     * 新后缀生成：原始链接与随机盐直接计算 64 位哈希
+     */
+    @Benchmark
+    public String saltedSuffix() {
+        return HashUtil.hashToBase62(originUrl, ThreadLocalRandom.current().nextLong());
+    }
+
+    private static String legacyConvertDecToBase62(long num) {
+        StringBuilder sb = new StringBuilder();
+        while (num > 0) {
+            int i = (int) (num % SIZE);
+            sb.append(CHARS[i]);
+            num /= SIZE;
+        }
+        return sb.reverse().toString();
+    }
+}